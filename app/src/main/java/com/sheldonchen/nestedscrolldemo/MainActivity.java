@@ -16,12 +16,31 @@ import android.widget.BaseAdapter;
 import android.widget.TextView;
 
 import com.sheldonchen.itemdecorations.decorations.LinearLayoutDivider;
+import com.sheldonchen.nestedscrolllayout.NestedScrollLayout;
+import com.sheldonchen.nestedscrolllayout.scenarios.GestureScript;
+import com.sheldonchen.nestedscrolllayout.scenarios.Scenario;
+import com.sheldonchen.nestedscrolllayout.scenarios.Scenarios;
 
 public class MainActivity extends AppCompatActivity {
 
+    /**
+     * 以压力测试场景启动, 取值见{@link Scenarios}.
+     * eg: adb shell am start -n com.sheldonchen.nestedscrolldemo/.MainActivity --es scenario feed --ez autoplay true
+     */
+    public static final String EXTRA_SCENARIO = "scenario";
+    /**
+     * 场景首帧后自动回放手势脚本.
+     */
+    public static final String EXTRA_AUTOPLAY = "autoplay";
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        final String scenarioName = getIntent().getStringExtra(EXTRA_SCENARIO);
+        if (scenarioName != null) {
+            setupScenario(Scenarios.get(scenarioName), getIntent().getBooleanExtra(EXTRA_AUTOPLAY, false));
+            return;
+        }
         setContentView(R.layout.activity_main);
 
 //        TabLayout tabLayout = findViewById(R.id.tabs);
@@ -75,6 +94,20 @@ public class MainActivity extends AppCompatActivity {
         recyclerView.setAdapter(new InnerAdapter());
     }
 
+    private void setupScenario(Scenario scenario, boolean autoplay) {
+        final NestedScrollLayout layout = scenario.create(this);
+        setContentView(layout);
+        if (autoplay) {
+            final GestureScript script = scenario.createGestureScript(this);
+            layout.post(new Runnable() {
+                @Override
+                public void run() {
+                    script.play(layout, null);
+                }
+            });
+        }
+    }
+
     private static final class InnerFragmentPagerAdapter extends FragmentPagerAdapter {
 
         private static final String[] PAGE_TITLES = {"知乎日报", "干货"};
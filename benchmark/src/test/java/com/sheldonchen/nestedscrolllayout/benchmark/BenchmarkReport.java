@@ -0,0 +1,45 @@
+package com.sheldonchen.nestedscrolllayout.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 性能测试结果输出到build/benchmark-results/<测试类名>.txt, 随测试报告一起归档,
+ * 不依赖测试进程的标准输出.
+ */
+final class BenchmarkReport {
+
+    private static final String RESULTS_DIR = "build/benchmark-results";
+
+    private BenchmarkReport() {
+    }
+
+    /**
+     * 追加一行结果并返回该行, 可直接作为断言失败时的消息.
+     */
+    static String record(Class<?> testClass, String line) {
+        final File dir = new File(RESULTS_DIR);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + dir.getAbsolutePath());
+        }
+
+        Writer writer = null;
+        try {
+            writer = new FileWriter(new File(dir, testClass.getSimpleName() + ".txt"), true);
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write benchmark result", e);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        return line;
+    }
+}
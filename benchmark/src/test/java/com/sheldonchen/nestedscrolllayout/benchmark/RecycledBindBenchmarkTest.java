@@ -0,0 +1,160 @@
+package com.sheldonchen.nestedscrolllayout.benchmark;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.sheldonchen.nestedscrolllayout.NestedScrollLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * RecyclerView Item中嵌入NestedScrollLayout时的绑定开销.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class RecycledBindBenchmarkTest {
+
+    private static final int ROW_COUNT = 1000;
+    private static final int POOL_SIZE = 12;
+    private static final int ROW_WIDTH = 1080;
+    private static final int ROW_HEIGHT = 600;
+    private static final int HEADER_HEIGHT = 240;
+
+    private CardAdapter mAdapter;
+    private CardViewHolder[] mHolders;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = RuntimeEnvironment.application;
+        FrameLayout parent = new FrameLayout(context);
+
+        mAdapter = new CardAdapter(new NestedScrollLayout.SharedScroller(context));
+        mHolders = new CardViewHolder[POOL_SIZE];
+        for (int i = 0; i < POOL_SIZE; i++) {
+            mHolders[i] = mAdapter.createViewHolder(parent, 0);
+            layoutRow(mHolders[i].layout);
+        }
+    }
+
+    @Test
+    public void rebind_resetsPreviousItemOffset() throws Exception {
+        for (int position = 0; position < ROW_COUNT; position++) {
+            CardViewHolder holder = mHolders[position % POOL_SIZE];
+            // 模拟上一个Item遗留的滚动位置.
+            holder.layout.scrollTo(HEADER_HEIGHT / 2);
+
+            mAdapter.bindViewHolder(holder, position);
+
+            assertEquals(0, holder.layout.getCurrentScrollY());
+        }
+    }
+
+    @Test
+    public void rebind_benchmark() throws Exception {
+        // 预热.
+        bindAll();
+
+        long start = System.nanoTime();
+        bindAll();
+        final long bindNsPerRow = (System.nanoTime() - start) / ROW_COUNT;
+
+        // 参考: 对同一批Item强制重新measure/layout, 只记录不断言.
+        relayoutAll();
+        start = System.nanoTime();
+        relayoutAll();
+        final long relayoutNsPerRow = (System.nanoTime() - start) / ROW_COUNT;
+
+        BenchmarkReport.record(getClass(), "NestedScrollLayout rebind: "
+                + ROW_COUNT + " rows, " + bindNsPerRow + " ns/row, relayout "
+                + relayoutNsPerRow + " ns/row");
+        assertEquals(2 * ROW_COUNT, mAdapter.bindCount);
+    }
+
+    @Test
+    public void rebind_doesNotRequestLayout() throws Exception {
+        // 耗时受机器负载影响, 以确定性的工作量作为回归保护: 重置只偏移子View, 不触发重新measure/layout.
+        for (int position = 0; position < ROW_COUNT; position++) {
+            CardViewHolder holder = mHolders[position % POOL_SIZE];
+            holder.layout.scrollTo(position % HEADER_HEIGHT);
+            mAdapter.bindViewHolder(holder, position);
+
+            assertFalse("row " + position, holder.layout.isLayoutRequested());
+        }
+    }
+
+    private void bindAll() {
+        for (int position = 0; position < ROW_COUNT; position++) {
+            CardViewHolder holder = mHolders[position % POOL_SIZE];
+            holder.layout.scrollTo(position % HEADER_HEIGHT);
+            mAdapter.bindViewHolder(holder, position);
+        }
+    }
+
+    private void relayoutAll() {
+        for (int position = 0; position < ROW_COUNT; position++) {
+            CardViewHolder holder = mHolders[position % POOL_SIZE];
+            holder.layout.forceLayout();
+            layoutRow(holder.layout);
+        }
+    }
+
+    private static void layoutRow(View row) {
+        row.measure(View.MeasureSpec.makeMeasureSpec(ROW_WIDTH, View.MeasureSpec.EXACTLY)
+                , View.MeasureSpec.makeMeasureSpec(ROW_HEIGHT, View.MeasureSpec.EXACTLY));
+        row.layout(0, 0, ROW_WIDTH, ROW_HEIGHT);
+    }
+
+    private static class CardAdapter extends RecyclerView.Adapter<CardViewHolder> {
+        private final NestedScrollLayout.SharedScroller mSharedScroller;
+        int bindCount;
+
+        CardAdapter(NestedScrollLayout.SharedScroller sharedScroller) {
+            mSharedScroller = sharedScroller;
+        }
+
+        @NonNull
+        @Override
+        public CardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            Context context = parent.getContext();
+            NestedScrollLayout layout = new NestedScrollLayout(context);
+            layout.addView(new View(context)
+                    , new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, HEADER_HEIGHT));
+            layout.addView(new View(context)
+                    , new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                            , ViewGroup.LayoutParams.MATCH_PARENT));
+            layout.setSharedScroller(mSharedScroller);
+            return new CardViewHolder(layout);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull CardViewHolder holder, int position) {
+            bindCount++;
+            holder.layout.resetScrollState();
+        }
+
+        @Override
+        public int getItemCount() {
+            return ROW_COUNT;
+        }
+    }
+
+    private static class CardViewHolder extends RecyclerView.ViewHolder {
+        final NestedScrollLayout layout;
+
+        CardViewHolder(NestedScrollLayout itemView) {
+            super(itemView);
+            layout = itemView;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.sheldonchen.nestedscrolllayout.benchmark;
+
+import android.support.v4.app.FragmentActivity;
+import android.view.View;
+
+import com.sheldonchen.nestedscrolllayout.NestedScrollLayout;
+import com.sheldonchen.nestedscrolllayout.scenarios.GestureScript;
+import com.sheldonchen.nestedscrolllayout.scenarios.Scenario;
+import com.sheldonchen.nestedscrolllayout.scenarios.Scenarios;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 在各压力测试场景中回放手势脚本, 统计每帧耗时.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ScenarioBenchmarkTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    @Test
+    public void feed() throws Exception {
+        play(Scenarios.FEED);
+    }
+
+    @Test
+    public void pager() throws Exception {
+        play(Scenarios.PAGER);
+    }
+
+    @Test
+    public void list() throws Exception {
+        play(Scenarios.LIST);
+    }
+
+    @Test
+    public void web() throws Exception {
+        play(Scenarios.WEB);
+    }
+
+    @Test
+    public void deepHeader() throws Exception {
+        play(Scenarios.DEEP_HEADER);
+    }
+
+    private void play(String name) {
+        final Scenario scenario = Scenarios.get(name);
+        // 预热, 避免类加载计入第一轮.
+        run(scenario, false);
+
+        final long baselineUsPerFrame = run(scenario, true);
+        final long usPerFrame = run(scenario, false);
+
+        // Robolectric下的耗时只作记录, 不做断言; 每轮的帧数及滚动位置在run()中断言.
+        BenchmarkReport.record(getClass(), "Scenario " + name + ": "
+                + usPerFrame + " us/frame, scroll child only " + baselineUsPerFrame + " us/frame");
+    }
+
+    /**
+     * 回放场景的手势脚本, 返回平均每帧耗时(us).
+     *
+     * @param scrollChildOnly true时把嵌套滚动子View从NestedScrollLayout中取出单独回放, 作为基准.
+     */
+    private long run(Scenario scenario, boolean scrollChildOnly) {
+        // 每轮使用新的Activity, 避免上一轮的Fragment被复用到新的ViewPager.
+        final FragmentActivity activity = Robolectric.setupActivity(FragmentActivity.class);
+        final NestedScrollLayout layout = scenario.create(activity);
+        final View target = scrollChildOnly ? layout.getChildAt(1) : layout;
+        if (scrollChildOnly) {
+            layout.removeView(target);
+        }
+        activity.setContentView(target);
+        layoutFrame(target);
+
+        // 单独回放时Header不参与滚动.
+        final int expectedScrollY = scrollChildOnly ? 0 : layout.getChildAt(0).getHeight();
+        final GestureScript script = scenario.createGestureScript(activity);
+        final int[] frames = new int[1];
+        final int[] maxScrollY = new int[1];
+
+        final long start = System.nanoTime();
+        script.playNow(target, new GestureScript.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeMillis) {
+                Robolectric.getForegroundThreadScheduler().advanceBy(
+                        GestureScript.FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                target.computeScroll();
+                layoutFrame(target);
+
+                frames[0]++;
+                maxScrollY[0] = Math.max(maxScrollY[0], layout.getCurrentScrollY());
+            }
+        });
+        final long elapsed = System.nanoTime() - start;
+
+        assertEquals(script.getFrameCount(), frames[0]);
+        // 脚本中的第一次拖动应完全收起Header.
+        assertEquals(expectedScrollY, maxScrollY[0]);
+        return elapsed / frames[0] / 1000;
+    }
+
+    private static void layoutFrame(View layout) {
+        layout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY)
+                , View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        layout.layout(0, 0, WIDTH, HEIGHT);
+    }
+}
@@ -0,0 +1,126 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.content.Context;
+import android.view.ViewConfiguration;
+import android.view.animation.AnimationUtils;
+
+/**
+ * 指数衰减的fling模型, 与support-dynamic-animation中FlingAnimation的计算方式一致:
+ *      v(t) = v0 * e^(-4.2 * friction * t)
+ * 衰减只与时间有关, 不受屏幕密度影响; 速度低于最小fling速度(dp换算)时停止.
+ * 回弹及定点滚动仍使用样条曲线.
+ */
+public class DecayFlingPhysics extends SplineFlingPhysics {
+
+    private static final float DEFAULT_FRICTION = 1.F;
+    private static final float FRICTION_MULTIPLIER = -4.2F;
+
+    private final float mMinVelocity;
+    private float mFriction = DEFAULT_FRICTION;
+
+    private boolean mDecaying;
+    private boolean mDecayFinished;
+    private long mStartTime;
+    private int mStart;
+    private int mMin;
+    private int mMax;
+    private float mVelocity;
+
+    private int mCurrPosition;
+    private float mCurrVelocity;
+
+    public DecayFlingPhysics(Context context) {
+        super(context);
+        mMinVelocity = ViewConfiguration.get(context).getScaledMinimumFlingVelocity();
+    }
+
+    @Override
+    public void fling(int start, int velocity, int min, int max) {
+        super.abortAnimation();
+
+        mDecaying = true;
+        mDecayFinished = false;
+        mStartTime = AnimationUtils.currentAnimationTimeMillis();
+        mStart = mCurrPosition = start;
+        mMin = min;
+        mMax = max;
+        mVelocity = velocity;
+        mCurrVelocity = Math.abs(velocity);
+    }
+
+    @Override
+    public void startScroll(int start, int delta, int duration) {
+        mDecaying = false;
+        super.startScroll(start, delta, duration);
+    }
+
+    @Override
+    public boolean springBack(int start, int min, int max) {
+        mDecaying = false;
+        return super.springBack(start, min, max);
+    }
+
+    @Override
+    public boolean computeScrollOffset() {
+        if (!mDecaying) {
+            return super.computeScrollOffset();
+        }
+        if (mDecayFinished) {
+            return false;
+        }
+
+        final float t = (AnimationUtils.currentAnimationTimeMillis() - mStartTime) / 1000.F;
+        final float k = mFriction * FRICTION_MULTIPLIER;
+        final float velocity = (float) (mVelocity * Math.exp(k * t));
+        // 对速度积分: x(t) = x0 + (v(t) - v0) / k
+        final float position = mStart + (velocity - mVelocity) / k;
+
+        mCurrVelocity = Math.abs(velocity);
+        // 只在沿运动方向越过边界时停止, 从边界上开始的fling不会在第一帧就结束.
+        if (mVelocity < 0 && position <= mMin) {
+            mCurrPosition = mMin;
+            mDecayFinished = true;
+        } else if (mVelocity > 0 && position >= mMax) {
+            mCurrPosition = mMax;
+            mDecayFinished = true;
+        } else {
+            mCurrPosition = Math.round(position);
+            mDecayFinished = mCurrVelocity < mMinVelocity;
+        }
+        return true;
+    }
+
+    @Override
+    public int getCurrPosition() {
+        return mDecaying ? mCurrPosition : super.getCurrPosition();
+    }
+
+    @Override
+    public float getCurrVelocity() {
+        return mDecaying ? mCurrVelocity : super.getCurrVelocity();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return mDecaying ? mDecayFinished : super.isFinished();
+    }
+
+    @Override
+    public void abortAnimation() {
+        if (mDecaying) {
+            mDecayFinished = true;
+        }
+        super.abortAnimation();
+    }
+
+    /**
+     * 摩擦系数同FlingAnimation#setFriction(float), 即衰减系数4.2的倍数, 默认为1.
+     */
+    @Override
+    public void setFriction(float friction) {
+        if (friction <= 0) {
+            throw new IllegalArgumentException("Friction must be positive");
+        }
+        mFriction = friction;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sheldonchen.nestedscrolllayout;
+
+/**
+ * NestedScrollLayout的滚动动画模型(fling、回弹及定点滚动), 只作用于滚动方向这一个维度.
+ * note：
+ *      位置单位为px, 速度单位为px/s, 与VelocityTracker#computeCurrentVelocity(1000)一致,
+ *      fling衔接给子View时直接使用{@link #getCurrVelocity()}, 不再做换算.
+ *
+ * @see SplineFlingPhysics
+ * @see DecayFlingPhysics
+ */
+public interface FlingPhysics {
+
+    void fling(int start, int velocity, int min, int max);
+
+    void startScroll(int start, int delta, int duration);
+
+    /**
+     * 从start回弹到[min, max]区间内.
+     *
+     * @return 是否需要回弹.
+     */
+    boolean springBack(int start, int min, int max);
+
+    /**
+     * 计算当前帧的位置.
+     *
+     * @return 动画是否仍在进行.
+     */
+    boolean computeScrollOffset();
+
+    int getCurrPosition();
+
+    /**
+     * 当前速度的绝对值.
+     */
+    float getCurrVelocity();
+
+    boolean isFinished();
+
+    void abortAnimation();
+
+    /**
+     * 设置摩擦系数, 以该模型默认摩擦的倍数表示: 1为默认值, 大于1时fling距离更短.
+     * 各实现按各自的摩擦模型换算, 同一数值在不同模型下都表示相对默认值的倍数.
+     *
+     * @throws IllegalArgumentException friction不大于0时.
+     */
+    void setFriction(float friction);
+}
@@ -0,0 +1,2717 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Rect;
+import android.os.Build;
+import android.os.Parcelable;
+import android.support.v4.view.AsyncLayoutInflater;
+import android.support.v4.view.ViewCompat;
+import android.support.v4.view.ViewPager;
+import android.support.v4.widget.ListViewCompat;
+import android.support.v4.widget.NestedScrollView;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.util.AttributeSet;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.util.TypedValue;
+import android.view.InputDevice;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.webkit.WebView;
+import android.widget.AbsListView;
+import android.widget.HorizontalScrollView;
+import android.widget.ListView;
+import android.widget.ScrollView;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 支持嵌套滚动的容器 ~ NestedScrollLayout.
+ * note：
+ *      需要指定相应的头部Header id以及嵌套滚动的子View id
+ *      eg:
+ *          app:header="@+id/layout_header"
+ *          app:scroll_child="@+id/layout_scroll_child"
+ *
+ *      Header及嵌套滚动子View也可以指定为布局文件, 由AsyncLayoutInflater在后台线程加载,
+ *      加载完成前以固定大小的占位View代替, 替换时保留当前滚动位置.
+ *      eg:
+ *          app:header_layout="@layout/layout_header"
+ *          app:header_placeholder_size="340dp"
+ *
+ *      可选地指定下拉刷新指示View, 布局在Header上方, 与Header共用同一套滚动逻辑.
+ *      eg:
+ *          app:refresh_header="@+id/layout_refresh"
+ *
+ *      嵌套滚动的子View通常可以是ListView、RecyclerView、ScrollView等,
+ *      其它嵌套滚动可通过实现接口 {@link OnChildScrollCallback}辅助解决嵌套滑动的问题.
+ *
+ *      通过android:orientation="horizontal"可将Header放在左侧, 沿水平方向滚动(默认为竖直方向).
+ *
+ *      NestedScrollLayout可以互相嵌套(内层布局位于外层布局的scroll child中),
+ *      此时由最外层布局统一拦截事件, 并沿嵌套链分发拖动位移及fling速度.
+ * <p>
+ * Created by cxd on 2018/6/13
+ */
+
+public class NestedScrollLayout extends ViewGroup {
+
+    public static final int HORIZONTAL = 0;
+    public static final int VERTICAL = 1;
+
+    /**
+     * 滚动方向, 与LinearLayout的取值一致.
+     */
+    private int mOrientation = VERTICAL;
+
+    private int mHeaderId;
+    private int mScrollChildId;
+    private int mRefreshId;
+    /**
+     * 异步加载的Header及嵌套滚动子View布局.
+     */
+    private int mHeaderLayoutId;
+    private int mScrollChildLayoutId;
+    private int mHeaderPlaceholderSize;
+    private int mHeaderIndex = -1;
+    private int mScrollChildIndex = -1;
+
+    private View mHeaderView;
+    /**
+     * 嵌套的可滚动子View.
+     */
+    private View mScrollChildView;
+    /**
+     * 可选的下拉刷新指示View, 位于Header上方.
+     */
+    private View mRefreshView;
+
+    private OnChildScrollCallback mChildScrollCallback;
+
+    /**
+     * 嵌套链: 位于当前布局scroll child中的内层布局, 以及包含当前布局的外层布局.
+     * 整条链只由最外层布局拦截触摸事件, 内层布局不再单独拦截.
+     * scroll child中可能同时存在多个内层布局(如ViewPager的各页、RecyclerView的各行),
+     * 均记录在mAttachedInnerLayouts中, mInnerLayout为当前手势作用的一个, 每次手势开始时重新选择.
+     */
+    private NestedScrollLayout mInnerLayout;
+    private NestedScrollLayout mOuterLayout;
+    private final List<NestedScrollLayout> mAttachedInnerLayouts = new ArrayList<>();
+    private final Rect mInnerLayoutRect = new Rect();
+
+    private boolean mFirstLayout = true;
+    private static final int NO_PENDING_SCROLL = Integer.MIN_VALUE;
+    /**
+     * 替换Header或嵌套滚动子View后, 下次布局时需要恢复的滚动位置.
+     */
+    private int mPendingScrollY = NO_PENDING_SCROLL;
+    /**
+     * 替换前Header已完全收起, 恢复时按新Header的滚动范围保持收起, 避免露出一部分Header.
+     */
+    private boolean mPendingCollapsed;
+
+    private static final int INVALID_POINTER = -1;
+    private int mActivePointerId;
+
+    private boolean mIsDragging;
+    /**
+     * 标记是否模拟Down事件分发.
+     */
+    private boolean mMockDownEvent = false;
+    private float mInitialDownX;
+    private float mInitialDownY;
+    /**
+     * 滚动方向上最后一次的触摸位置.
+     */
+    private float mLastMotion;
+    private float mTouchSlop;
+    private float mMaxVelocity;
+
+    private VelocityTracker mVelocityTracker;
+    private int mLastFlingY;
+
+    /**
+     * 鼠标滚轮/触控板的滚动距离, 按帧合并后统一处理.
+     */
+    private float mPendingInputScroll;
+    private boolean mInputScrollScheduled;
+    /**
+     * 滚轮滚动一格对应的像素距离, 首次使用时获取.
+     */
+    private float mScrollFactor;
+    /**
+     * 滚轮/触控板滚动期间处于SETTLING, 连续一帧没有新的滚动距离后回到IDLE.
+     */
+    private final Runnable mInputScrollRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mInputScrollScheduled = false;
+            if (mTouchActive) {
+                // 手指按下后由触摸接管.
+                mPendingInputScroll = 0;
+                return;
+            }
+            final int dy = (int) mPendingInputScroll;
+            // 高精度触控板的小数部分留到下一帧.
+            mPendingInputScroll -= dy;
+            if (dy != 0) {
+                scrollByInput(dy);
+                mInputScrollScheduled = true;
+                ViewCompat.postOnAnimation(NestedScrollLayout.this, this);
+            } else {
+                finishInputScroll();
+            }
+        }
+    };
+    /**
+     * 首次fling时才创建, 也可通过{@link #setSharedScroller(SharedScroller)}与其它布局共享.
+     */
+    private SharedScroller mSharedScroller;
+    /**
+     * fling摩擦系数, 为所用FlingPhysics默认摩擦的倍数, 未设置时为0(使用默认值).
+     */
+    private float mFlingFriction;
+
+    public static final int FLING_PHYSICS_SPLINE = 0;
+    public static final int FLING_PHYSICS_DECAY = 1;
+    private int mFlingPhysicsType = FLING_PHYSICS_SPLINE;
+
+    /**
+     * fling衔接方式:
+     *      NATIVE: Header收起后将剩余速度交给子View自身的fling;
+     *      CONTINUOUS: 由当前布局继续以同一滚动模型驱动子View滚动, 速度曲线连续.
+     */
+    public static final int FLING_HANDOFF_NATIVE = 0;
+    public static final int FLING_HANDOFF_CONTINUOUS = 1;
+    private int mFlingHandoff = FLING_HANDOFF_NATIVE;
+
+    /**
+     * Header收起后仍保持可见的大小(如Header底部的Tab栏), 嵌套滚动子View的可见区域相应减小.
+     */
+    private int mHeaderPinnedSize;
+
+    /**
+     * Header滚动系数(可实现错位滚动).
+     */
+    private float mHeaderScrollRatio = 1.F;
+
+    /**
+     * Header顶部下拉时的拉伸效果(仅通过scale/translation实现, 不触发重新布局).
+     */
+    private boolean mHeaderStretchEnabled;
+    private int mMaxStretchDistance;
+    private float mStretchDistance;
+
+    private static final int SCROLLER_MODE_FLING = 0;
+    private static final int SCROLLER_MODE_SPRING_BACK = 1;
+    private static final int SCROLLER_MODE_SETTLE = 2;
+    private int mScrollerMode = SCROLLER_MODE_FLING;
+
+    /**
+     * 滚动状态, 嵌套时由最外层布局维护:
+     *      IDLE: 静止;
+     *      DRAGGING: 手指拖动Header;
+     *      FLINGING: 由当前布局驱动的fling(包括连续衔接时对子View的滚动);
+     *      HANDED_OFF: 拖动或fling已交给子View, 逐帧检查子View是否停止;
+     *      SETTLING: 拉伸回弹或下拉刷新区域的归位动画.
+     */
+    public static final int SCROLL_STATE_IDLE = 0;
+    public static final int SCROLL_STATE_DRAGGING = 1;
+    public static final int SCROLL_STATE_FLINGING = 2;
+    public static final int SCROLL_STATE_HANDED_OFF = 3;
+    public static final int SCROLL_STATE_SETTLING = 4;
+    private int mScrollState = SCROLL_STATE_IDLE;
+    private List<OnScrollStateChangeListener> mScrollStateListeners;
+    /**
+     * 下次进入IDLE时执行的任务.
+     */
+    private List<Runnable> mIdleRunnables;
+    /**
+     * 手指是否还在屏幕上(包括事件交给子View处理时).
+     */
+    private boolean mTouchActive;
+    private long mHandOffSignature;
+    private int mHandOffStillFrames;
+    private final Runnable mHandOffPoller = new Runnable() {
+        @Override
+        public void run() {
+            if (mScrollState != SCROLL_STATE_HANDED_OFF) {
+                return;
+            }
+            if (!mTouchActive && isHandOffFinished()) {
+                setScrollState(SCROLL_STATE_IDLE);
+            } else {
+                ViewCompat.postOnAnimation(NestedScrollLayout.this, this);
+            }
+        }
+    };
+
+    private static final float REFRESH_DRAG_RATE = .5F;
+    private static final int REFRESH_SETTLE_DURATION = 250;
+    private boolean mRefreshEnabled = true;
+    private boolean mRefreshing;
+    /**
+     * 首次布局前调用了setRefreshing(true), 刷新指示View尚无大小, 留到布局完成后展开.
+     */
+    private boolean mPendingRefresh;
+    private int mRefreshTriggerDistance;
+    private OnRefreshListener mRefreshListener;
+
+
+    // constructors.
+
+    public NestedScrollLayout(Context context) {
+        super(context);
+        init(context, null);
+    }
+
+    public NestedScrollLayout(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init(context, attrs);
+    }
+
+    public NestedScrollLayout(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs);
+    }
+
+    private void init(Context context, AttributeSet attrs) {
+        float touchSlop = -1;
+        if (attrs != null) {
+            TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.NestedScrollLayout);
+            mOrientation = typedArray.getInt(R.styleable.NestedScrollLayout_android_orientation, VERTICAL);
+            mFlingPhysicsType = typedArray.getInt(R.styleable.NestedScrollLayout_fling_physics
+                    , FLING_PHYSICS_SPLINE);
+            mFlingFriction = typedArray.getFloat(R.styleable.NestedScrollLayout_fling_friction, 0);
+            mFlingHandoff = typedArray.getInt(R.styleable.NestedScrollLayout_fling_handoff
+                    , FLING_HANDOFF_NATIVE);
+            touchSlop = typedArray.getDimension(R.styleable.NestedScrollLayout_touch_slop, -1);
+            mHeaderId = typedArray.getResourceId(R.styleable.NestedScrollLayout_header, 0);
+            mScrollChildId = typedArray.getResourceId(R.styleable.NestedScrollLayout_scroll_child, 0);
+            mHeaderStretchEnabled = typedArray.getBoolean(R.styleable.NestedScrollLayout_header_stretch, false);
+            mMaxStretchDistance = typedArray.getDimensionPixelSize(
+                    R.styleable.NestedScrollLayout_max_stretch_distance, 0);
+            mHeaderPinnedSize = typedArray.getDimensionPixelSize(
+                    R.styleable.NestedScrollLayout_header_pinned_size, 0);
+            mHeaderLayoutId = typedArray.getResourceId(R.styleable.NestedScrollLayout_header_layout, 0);
+            mScrollChildLayoutId = typedArray.getResourceId(
+                    R.styleable.NestedScrollLayout_scroll_child_layout, 0);
+            mHeaderPlaceholderSize = typedArray.getDimensionPixelSize(
+                    R.styleable.NestedScrollLayout_header_placeholder_size, 0);
+            mRefreshId = typedArray.getResourceId(R.styleable.NestedScrollLayout_refresh_header, 0);
+            mRefreshTriggerDistance = typedArray.getDimensionPixelSize(
+                    R.styleable.NestedScrollLayout_refresh_trigger_distance, 0);
+            typedArray.recycle();
+        }
+
+        setChildrenDrawingOrderEnabled(true);
+
+        setFocusable(true);
+        setDescendantFocusability(FOCUS_BLOCK_DESCENDANTS);
+        setWillNotDraw(false);
+
+        final ViewConfiguration configuration = ViewConfiguration.get(context);
+        mTouchSlop = touchSlop >= 0 ? touchSlop : configuration.getScaledTouchSlop() * 0.25F;
+        mMaxVelocity = configuration.getScaledMaximumFlingVelocity();
+    }
+
+    @Override
+    protected void onFinishInflate() {
+        super.onFinishInflate();
+        inflateAsyncSlots();
+        ensureTarget();
+    }
+
+    /**
+     * 为指定了布局文件的Header及嵌套滚动子View添加占位View, 并在后台线程加载实际布局.
+     */
+    private void inflateAsyncSlots() {
+        if (mHeaderLayoutId == 0 && mScrollChildLayoutId == 0) {
+            return;
+        }
+
+        final AsyncLayoutInflater inflater = new AsyncLayoutInflater(getContext());
+        final AsyncLayoutInflater.OnInflateFinishedListener listener
+                = new AsyncLayoutInflater.OnInflateFinishedListener() {
+            @Override
+            public void onInflateFinished(View view, int resid, ViewGroup parent) {
+                if (resid == mHeaderLayoutId) {
+                    setHeaderView(view);
+                } else {
+                    setScrollChildView(view);
+                }
+            }
+        };
+
+        if (mHeaderLayoutId != 0) {
+            final View placeholder = new View(getContext());
+            addView(placeholder, 0, isVertical()
+                    ? new LayoutParams(LayoutParams.MATCH_PARENT, mHeaderPlaceholderSize)
+                    : new LayoutParams(mHeaderPlaceholderSize, LayoutParams.MATCH_PARENT));
+            mHeaderView = placeholder;
+            inflater.inflate(mHeaderLayoutId, this, listener);
+        }
+        if (mScrollChildLayoutId != 0) {
+            final View placeholder = new View(getContext());
+            addView(placeholder, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+            mScrollChildView = placeholder;
+            inflater.inflate(mScrollChildLayoutId, this, listener);
+        }
+    }
+
+    /**
+     * 替换Header, 保留当前滚动位置.
+     */
+    public void setHeaderView(View header) {
+        if (header == null || header == mHeaderView) {
+            return;
+        }
+        if (header.getLayoutParams() == null) {
+            header.setLayoutParams(isVertical()
+                    ? new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT)
+                    : new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.MATCH_PARENT));
+        }
+        final View old = mHeaderView;
+        savePendingScroll();
+        mHeaderView = header;
+        replaceTarget(old, header, 0);
+        if (mStretchDistance > 0) {
+            applyStretch(mStretchDistance);
+        }
+    }
+
+    /**
+     * 替换嵌套滚动子View, 保留当前滚动位置.
+     */
+    public void setScrollChildView(View scrollChild) {
+        if (scrollChild == null || scrollChild == mScrollChildView) {
+            return;
+        }
+        if (scrollChild.getLayoutParams() == null) {
+            scrollChild.setLayoutParams(
+                    new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        }
+        final View old = mScrollChildView;
+        savePendingScroll();
+        mScrollChildView = scrollChild;
+        replaceTarget(old, scrollChild, getChildCount());
+    }
+
+    /**
+     * 替换前记录滚动位置, 新View完成布局后据此恢复.
+     */
+    private void savePendingScroll() {
+        if (!mFirstLayout && mPendingScrollY == NO_PENDING_SCROLL
+                && mHeaderView != null && mScrollChildView != null) {
+            mPendingScrollY = getCurrentScrollY();
+            mPendingCollapsed = mPendingScrollY > 0 && mPendingScrollY >= getHeaderScrollRange();
+        }
+    }
+
+    private void replaceTarget(View old, View target, int defaultIndex) {
+        int index = defaultIndex;
+        if (old != null && old.getParent() == this) {
+            index = indexOfChild(old);
+            removeView(old);
+        }
+        mHeaderIndex = -1;
+        mScrollChildIndex = -1;
+        addView(target, Math.min(index, getChildCount()));
+    }
+
+    @Override
+    protected int getChildDrawingOrder(int childCount, int i) {
+        ensureTarget();
+
+        if (mHeaderIndex < 0 || mHeaderIndex >= childCount
+                || getChildAt(mHeaderIndex) != mHeaderView) {
+            mHeaderIndex = indexOfChild(mHeaderView);
+        }
+        if (mScrollChildIndex < 0 || mScrollChildIndex >= childCount
+                || getChildAt(mScrollChildIndex) != mScrollChildView) {
+            mScrollChildIndex = indexOfChild(mScrollChildView);
+        }
+        if (mHeaderIndex < mScrollChildIndex) {
+            return i;
+        } else {
+            if (mHeaderIndex == i) {
+                return mScrollChildIndex;
+            } else if (mScrollChildIndex == i) {
+                return mHeaderIndex;
+            }
+        }
+        return i;
+    }
+
+    private void ensureTarget() {
+        // 子View被移除后重新查找.
+        if (mHeaderView != null && mHeaderView.getParent() != this) {
+            mHeaderView = null;
+        }
+        if (mScrollChildView != null && mScrollChildView.getParent() != this) {
+            mScrollChildView = null;
+        }
+        if (mRefreshView != null && mRefreshView.getParent() != this) {
+            mRefreshView = null;
+        }
+        if (mRefreshView == null && mRefreshId != 0) {
+            mRefreshView = findViewById(mRefreshId);
+        }
+
+        // Header及嵌套滚动子View各自按id(或异步加载的占位View)确定, 互不影响;
+        // 先按id查找, 再为未指定id的一方按子View顺序查找.
+        if (mHeaderView == null && mHeaderId != 0) {
+            mHeaderView = findViewById(mHeaderId);
+            checkTargetViewNonNull(mHeaderView, "NestedScrollLayout: Can't find header!");
+        }
+        if (mScrollChildView == null && mScrollChildId != 0) {
+            mScrollChildView = findViewById(mScrollChildId);
+            checkTargetViewNonNull(mScrollChildView, "NestedScrollLayout: Can't find any scroll child!");
+        }
+
+        if (mHeaderView == null) {
+            // 如果没有指定Header id, 则默认Header是第一个子View.
+            mHeaderView = getFallbackChild(mScrollChildView);
+            checkTargetViewNonNull(mHeaderView, "NestedScrollLayout: Can't find header!");
+        }
+        if (mScrollChildView == null) {
+            // 如果没有指定Scroll child id, 则默认ScrollChild是除Header外的第一个子View.
+            mScrollChildView = getFallbackChild(mHeaderView);
+            checkTargetViewNonNull(mScrollChildView, "NestedScrollLayout: Can't find any scroll child!");
+        }
+    }
+
+    /**
+     * 未指定id时按子View顺序查找, 跳过下拉刷新View及已确定的另一个View(可能是占位View).
+     */
+    private View getFallbackChild(View exclude) {
+        for (int i = 0; i < getChildCount(); i++) {
+            final View child = getChildAt(i);
+            if (child != mRefreshView && child != exclude) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    private static void checkTargetViewNonNull(View targetView, String msg) {
+        if (targetView == null) {
+            throw new Resources.NotFoundException(msg);
+        }
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        ScrollTrace.beginSection(ScrollTrace.SECTION_MEASURE);
+        try {
+            measureTargets(widthMeasureSpec, heightMeasureSpec);
+        } finally {
+            ScrollTrace.endSection();
+        }
+    }
+
+    private void measureTargets(int widthMeasureSpec, int heightMeasureSpec) {
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        ensureTarget();
+
+        // Header在滚动方向上不限制大小.
+        final int headerMeasureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        if (isVertical()) {
+            measureChild(mHeaderView, widthMeasureSpec, headerMeasureSpec);
+            if (mRefreshView != null) {
+                measureChild(mRefreshView, widthMeasureSpec, headerMeasureSpec);
+            }
+        } else {
+            measureChild(mHeaderView, headerMeasureSpec, heightMeasureSpec);
+            if (mRefreshView != null) {
+                measureChild(mRefreshView, headerMeasureSpec, heightMeasureSpec);
+            }
+        }
+
+        // 嵌套滚动子View的大小等于可见区域减去Header收起后保留的部分,
+        // 保证子View(如RecyclerView)只布局实际可见的内容.
+        int scrollChildWidth = getMeasuredWidth() - getPaddingLeft() - getPaddingRight();
+        int scrollChildHeight = getMeasuredHeight() - getPaddingTop() - getPaddingBottom();
+        if (isVertical()) {
+            scrollChildHeight -= mHeaderPinnedSize;
+        } else {
+            scrollChildWidth -= mHeaderPinnedSize;
+        }
+        final int scrollChildWidthMeasureSpec = MeasureSpec.makeMeasureSpec(
+                Math.max(0, scrollChildWidth), MeasureSpec.EXACTLY);
+        final int scrollChildHeightMeasureSpec = MeasureSpec.makeMeasureSpec(
+                Math.max(0, scrollChildHeight), MeasureSpec.EXACTLY);
+        mScrollChildView.measure(scrollChildWidthMeasureSpec, scrollChildHeightMeasureSpec);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        if (getChildCount() == 0) {
+            return;
+        }
+        ScrollTrace.beginSection(ScrollTrace.SECTION_LAYOUT);
+        try {
+            layoutTargets();
+        } finally {
+            ScrollTrace.endSection();
+        }
+    }
+
+    private void layoutTargets() {
+        ensureTarget();
+
+        int oldScrollY = mPendingScrollY != NO_PENDING_SCROLL
+                ? mPendingScrollY : getCurrentScrollY();
+        final boolean pendingCollapsed = mPendingCollapsed;
+        mPendingScrollY = NO_PENDING_SCROLL;
+        mPendingCollapsed = false;
+
+        if (isVertical()) {
+            layoutVertical();
+        } else {
+            layoutHorizontal();
+        }
+        if (pendingCollapsed) {
+            // Header大小变化后重新对齐到新的收起位置.
+            oldScrollY = getHeaderScrollRange();
+        }
+
+        if(mFirstLayout) {
+            mFirstLayout = false;
+        } else {
+            scrollTo(oldScrollY);
+        }
+        if (mPendingRefresh && isRefreshAvailable()) {
+            // 同SwipeRefreshLayout, 直接停在刷新位置, 不做动画.
+            mPendingRefresh = false;
+            moveChildrenTo(-getRefreshTriggerDistance());
+        }
+    }
+
+    private void layoutVertical() {
+        final int headerHeight = mHeaderView.getMeasuredHeight();
+        final int headerWidth = mHeaderView.getMeasuredWidth();
+        final int scrollChildWidth = mScrollChildView.getMeasuredWidth();
+        final int scrollChildHeight = mScrollChildView.getMeasuredHeight();
+
+        final int paddingLeft = getPaddingLeft();
+        final int paddingTop = getPaddingTop();
+
+        final int headerBottom = paddingTop + headerHeight;
+
+        mHeaderView.layout(paddingLeft, paddingTop
+                , paddingLeft + headerWidth, headerBottom);
+        mScrollChildView.layout(paddingLeft, headerBottom
+                , paddingLeft + scrollChildWidth, headerBottom + scrollChildHeight);
+        if (mRefreshView != null) {
+            mRefreshView.layout(paddingLeft, paddingTop - mRefreshView.getMeasuredHeight()
+                    , paddingLeft + mRefreshView.getMeasuredWidth(), paddingTop);
+        }
+    }
+
+    private void layoutHorizontal() {
+        final int headerWidth = mHeaderView.getMeasuredWidth();
+        final int headerHeight = mHeaderView.getMeasuredHeight();
+
+        final int paddingLeft = getPaddingLeft();
+        final int paddingTop = getPaddingTop();
+
+        final int headerRight = paddingLeft + headerWidth;
+
+        mHeaderView.layout(paddingLeft, paddingTop
+                , headerRight, paddingTop + headerHeight);
+        mScrollChildView.layout(headerRight, paddingTop
+                , headerRight + mScrollChildView.getMeasuredWidth()
+                , paddingTop + mScrollChildView.getMeasuredHeight());
+        if (mRefreshView != null) {
+            mRefreshView.layout(paddingLeft - mRefreshView.getMeasuredWidth(), paddingTop
+                    , paddingLeft, paddingTop + mRefreshView.getMeasuredHeight());
+        }
+    }
+
+    @Override
+    public void requestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+        // 不允许子View请求不拦截触摸事件
+        // 当前自顶控件需要执行#onInterceptTouchEvent(MotionEvent ev)拦截触摸事件进行处理.
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(MotionEvent ev) {
+        if (ev.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            ScrollTrace.refresh();
+        }
+        ScrollTrace.beginSection(ScrollTrace.SECTION_INTERCEPT);
+        try {
+            return interceptTouchEvent(ev);
+        } finally {
+            ScrollTrace.endSection();
+        }
+    }
+
+    private boolean interceptTouchEvent(MotionEvent ev) {
+        if (mOuterLayout != null) {
+            // 由嵌套链最外层布局统一拦截.
+            return false;
+        }
+
+        final int action = ev.getActionMasked();
+        int pointerIndex;
+        if(action == MotionEvent.ACTION_DOWN) {
+            stopScroll();
+            mActivePointerId = ev.getPointerId(0);
+            pointerIndex = ev.findPointerIndex(mActivePointerId);
+            if (pointerIndex < 0) {
+                return false;
+            }
+            mIsDragging = false;
+
+            mInitialDownX = ev.getX(pointerIndex);
+            mInitialDownY = ev.getY(pointerIndex);
+            if (!mMockDownEvent) {
+                // 模拟的DOWN事件属于同一次手势, 不重新选择内层布局.
+                selectInnerLayouts(mInitialDownX, mInitialDownY);
+            }
+        }
+
+        if (!isEnabled() || canChainChildScrollUp()/*子View还可以向上滚动, 将触摸事件向子View分发*/) {
+            return false;
+        }
+
+        switch (action) {
+            case MotionEvent.ACTION_MOVE:
+                if (mActivePointerId == INVALID_POINTER) {
+                    return false;
+                }
+                pointerIndex = ev.findPointerIndex(mActivePointerId);
+                if (pointerIndex < 0) {
+                    return false;
+                }
+                final float x = ev.getX(pointerIndex);
+                final float y = ev.getY(pointerIndex);
+                startDragging(x, y);
+                break;
+
+            case MotionEvent.ACTION_POINTER_UP:
+                onSecondaryPointerUp(ev);
+                break;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                mIsDragging = false;
+                mActivePointerId = INVALID_POINTER;
+                if(mMockDownEvent) {
+                    mMockDownEvent = false;
+                    return true;
+                }
+                break;
+        }
+
+        return mIsDragging;
+    }
+
+    private void resetScroller() {
+        if (mSharedScroller != null) {
+            mSharedScroller.release(this);
+        }
+    }
+
+    /**
+     * 终止当前布局驱动的fling或归位动画.
+     */
+    private void stopScroll() {
+        resetScroller();
+        onScrollerLost();
+    }
+
+    /**
+     * Scroller被终止或被其它布局占用.
+     */
+    private void onScrollerLost() {
+        if (mScrollState == SCROLL_STATE_FLINGING || mScrollState == SCROLL_STATE_SETTLING) {
+            setScrollState(SCROLL_STATE_IDLE);
+        }
+    }
+
+    private FlingPhysics obtainScroller() {
+        if (mSharedScroller == null) {
+            mSharedScroller = new SharedScroller(getContext());
+        }
+        final FlingPhysics physics = mSharedScroller.obtain(this);
+        if (mFlingFriction > 0) {
+            physics.setFriction(mFlingFriction);
+        }
+        return physics;
+    }
+
+    private static FlingPhysics createFlingPhysics(Context context, int type) {
+        return type == FLING_PHYSICS_DECAY
+                ? new DecayFlingPhysics(context) : new SplineFlingPhysics(context);
+    }
+
+    /**
+     * 当前布局持有的Scroller, 被其它布局占用或尚未创建时返回null.
+     */
+    private FlingPhysics ownedScroller() {
+        if (mSharedScroller == null || !mSharedScroller.isOwnedBy(this)) {
+            return null;
+        }
+        return mSharedScroller.mPhysics;
+    }
+
+    private void startDragging(float x, float y) {
+        final boolean vertical = isVertical();
+        final float diff = vertical ? y - mInitialDownY : x - mInitialDownX;
+        final float crossDiff = Math.abs(vertical ? x - mInitialDownX : y - mInitialDownY);
+        if (Math.abs(diff) > crossDiff && Math.abs(diff) > mTouchSlop) {
+            if (diff > 0 || !isChainCollapsed()) {
+                if (!mIsDragging) {
+                    mLastMotion = vertical ? y : x;
+                    mIsDragging = true;
+                    setScrollState(SCROLL_STATE_DRAGGING);
+                }
+            }
+        }
+    }
+
+    private void onSecondaryPointerUp(MotionEvent ev) {
+        final int pointerIndex = ev.getActionIndex();
+        final int pointerId = ev.getPointerId(pointerIndex);
+        if (pointerId == mActivePointerId) {
+            // This was our active pointer going up. Choose a new
+            // active pointer and adjust accordingly.
+            final int newPointerIndex = pointerIndex == 0 ? 1 : 0;
+            mActivePointerId = ev.getPointerId(newPointerIndex);
+        }
+    }
+
+    @Override
+    public boolean dispatchTouchEvent(MotionEvent ev) {
+        final int action = ev.getActionMasked();
+        mTouchActive = action != MotionEvent.ACTION_UP && action != MotionEvent.ACTION_CANCEL;
+        final boolean handled = super.dispatchTouchEvent(ev);
+        if (!mTouchActive && mScrollState == SCROLL_STATE_DRAGGING) {
+            // 松手后没有触发fling或归位动画.
+            setScrollState(SCROLL_STATE_IDLE);
+        }
+        return handled;
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent ev) {
+        if (mOuterLayout != null || !isEnabled() || canChainChildScrollUp()) {
+            return false;
+        }
+
+        final int action = ev.getActionMasked();
+        int pointerIndex;
+
+        acquireVelocityTracker(ev);
+
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                mActivePointerId = ev.getPointerId(0);
+                mIsDragging = false;
+
+                if (consumeDownEventAccepted()) {
+                    return true;
+                }
+                break;
+
+            case MotionEvent.ACTION_MOVE: {
+                pointerIndex = ev.findPointerIndex(mActivePointerId);
+                if (pointerIndex < 0) {
+                    return false;
+                }
+
+                final float x = ev.getX(pointerIndex);
+                final float y = ev.getY(pointerIndex);
+                startDragging(x, y);
+
+                final float motion = isVertical() ? y : x;
+                if (mIsDragging) {
+                    final int dy = (int) (motion - mLastMotion);
+                    if (dy > 0) {
+                        final int unconsumed = dispatchChainScroll(dy);
+                        if (unconsumed > 0) {
+                            if (isRefreshAvailable()) {
+                                pullRefreshBy(unconsumed);
+                            } else {
+                                stretchBy(unconsumed);
+                            }
+                        }
+                    } else if (dy < 0) {
+                        dispatchChainScroll(stretchBy(dy));
+                        if (isChainCollapsed()) {
+                            final int oldAction = ev.getAction();
+                            ev.setAction(MotionEvent.ACTION_DOWN);
+                            mMockDownEvent = true;
+                            ScrollTrace.beginSection(ScrollTrace.SECTION_MOCK_DOWN);
+                            try {
+                                dispatchTouchEvent(ev);
+                            } finally {
+                                ScrollTrace.endSection();
+                                ev.setAction(oldAction);
+                            }
+                            setScrollState(SCROLL_STATE_HANDED_OFF);
+                        }
+                    }
+                }
+
+                mLastMotion = motion;
+                break;
+            }
+
+            case MotionEvent.ACTION_POINTER_DOWN: {
+                pointerIndex = ev.getActionIndex();
+                if (pointerIndex < 0) {
+                    return false;
+                }
+                mActivePointerId = ev.getPointerId(pointerIndex);
+
+                mInitialDownX = ev.getX(pointerIndex);
+                mInitialDownY = ev.getY(pointerIndex);
+                mLastMotion = isVertical() ? mInitialDownY : mInitialDownX;
+                break;
+            }
+
+            case MotionEvent.ACTION_POINTER_UP:
+                onSecondaryPointerUp(ev);
+                break;
+
+            case MotionEvent.ACTION_UP: {
+                pointerIndex = ev.findPointerIndex(mActivePointerId);
+                if (pointerIndex < 0) {
+                    return false;
+                }
+
+                if (mIsDragging) {
+                    mIsDragging = false;
+                    if (mStretchDistance > 0) {
+                        startSpringBack();
+                    } else if (getCurrentScrollY() < 0) {
+                        finishPullRefresh();
+                    } else {
+                        mVelocityTracker.computeCurrentVelocity(1000, mMaxVelocity);
+                        final float velocity = isVertical()
+                                ? mVelocityTracker.getYVelocity(mActivePointerId)
+                                : mVelocityTracker.getXVelocity(mActivePointerId);
+                        startFlingIfNeed((int) velocity);
+                    }
+                }
+                mActivePointerId = INVALID_POINTER;
+                releaseVelocityTracker();
+                return false;
+            }
+            case MotionEvent.ACTION_CANCEL:
+                mIsDragging = false;
+                mActivePointerId = INVALID_POINTER;
+                startSpringBack();
+                if (getCurrentScrollY() < 0) {
+                    cancelPullRefresh();
+                }
+                releaseVelocityTracker();
+                return false;
+        }
+
+        return mIsDragging;
+    }
+
+    private boolean consumeDownEventAccepted() {
+        return !isChainCollapsed();
+    }
+
+    /**
+     * 滚轮/触控板事件默认直接分发给指针下方的子View, 在此先判断是否需要由Header消费.
+     */
+    @Override
+    public boolean dispatchGenericMotionEvent(MotionEvent event) {
+        if (mOuterLayout == null && isEnabled()
+                && (event.getSource() & InputDevice.SOURCE_CLASS_POINTER) != 0
+                && event.getActionMasked() == MotionEvent.ACTION_SCROLL) {
+            final float delta = getInputScrollDelta(event);
+            if (!mInputScrollScheduled) {
+                selectInnerLayouts(event.getX(), event.getY());
+            }
+            if (delta != 0 && shouldConsumeInputScroll(delta)) {
+                mPendingInputScroll += delta;
+                if (!mInputScrollScheduled) {
+                    startInputScroll();
+                    mInputScrollScheduled = true;
+                    ViewCompat.postOnAnimation(this, mInputScrollRunnable);
+                }
+                return true;
+            }
+        }
+        return super.dispatchGenericMotionEvent(event);
+    }
+
+    /**
+     * 与手指拖动方向一致: > 0表示展开Header.
+     */
+    private float getInputScrollDelta(MotionEvent event) {
+        float axis;
+        if (isVertical()) {
+            axis = event.getAxisValue(MotionEvent.AXIS_VSCROLL);
+        } else {
+            axis = -event.getAxisValue(MotionEvent.AXIS_HSCROLL);
+            if (axis == 0) {
+                axis = event.getAxisValue(MotionEvent.AXIS_VSCROLL);
+            }
+        }
+        return axis * getScrollFactor();
+    }
+
+    private float getScrollFactor() {
+        if (mScrollFactor == 0) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                final ViewConfiguration configuration = ViewConfiguration.get(getContext());
+                mScrollFactor = isVertical() ? configuration.getScaledVerticalScrollFactor()
+                        : configuration.getScaledHorizontalScrollFactor();
+            } else {
+                // 同NestedScrollView, 低版本以列表项的高度作为滚动一格的距离.
+                final TypedValue outValue = new TypedValue();
+                if (getContext().getTheme().resolveAttribute(
+                        android.R.attr.listPreferredItemHeight, outValue, true)) {
+                    mScrollFactor = outValue.getDimension(getResources().getDisplayMetrics());
+                } else {
+                    mScrollFactor = 64 * getResources().getDisplayMetrics().density;
+                }
+            }
+        }
+        return mScrollFactor;
+    }
+
+    /**
+     * 收起时Header未完全收起, 或展开时子View已经回到顶部且Header未完全展开.
+     */
+    private boolean shouldConsumeInputScroll(float dy) {
+        if (dy < 0) {
+            return !isChainCollapsed();
+        }
+        return !canChainChildScrollUp() && getChainScrollY() > 0;
+    }
+
+    /**
+     * 处理滚轮/触控板/键盘的位移(dy > 0表示展开), 与手指拖动一致:
+     *      收起时先收起Header, 剩余距离交给子View;
+     *      展开时子View回到顶部后再展开Header.
+     * 不会拉伸Header或拉出下拉刷新区域.
+     */
+    private void scrollByInput(int dy) {
+        if (dy == 0) {
+            return;
+        }
+        startInputScroll();
+        if (mStretchDistance > 0) {
+            applyStretch(0);
+        }
+
+        if (dy < 0) {
+            final int unconsumed = dispatchChainScroll(dy);
+            if (unconsumed < 0) {
+                getLeafLayout().scrollChildBy(-unconsumed);
+            }
+        } else if (canChainChildScrollUp()) {
+            helpScrollChildBy(getScrollUpLayout().getScrollTarget(), -dy, mOrientation);
+        } else {
+            dispatchChainScroll(dy);
+        }
+    }
+
+    /**
+     * 子View被FOCUS_BLOCK_DESCENDANTS屏蔽焦点, 由布局自身处理翻页等按键.
+     */
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return super.dispatchKeyEvent(event) || executeKeyEvent(event);
+    }
+
+    private boolean executeKeyEvent(KeyEvent event) {
+        if (mOuterLayout != null || !isEnabled() || mScrollChildView == null
+                || event.getAction() != KeyEvent.ACTION_DOWN) {
+            return false;
+        }
+
+        // 按键没有位置, 以嵌套滚动子View的中心选择内层布局(如ViewPager的当前页).
+        selectInnerLayouts((mScrollChildView.getLeft() + mScrollChildView.getRight()) / 2F
+                , (mScrollChildView.getTop() + mScrollChildView.getBottom()) / 2F);
+
+        final int step = Math.round(getScrollFactor());
+        // 一页为嵌套滚动子View的可见大小.
+        final int page = Math.max(step, getAxisSize(mScrollChildView));
+        final boolean vertical = isVertical();
+        // 同NestedScrollView#arrowScroll, 只有实际发生滚动时才消费按键,
+        // 到达边缘后按键继续分发(如方向键移动焦点离开当前布局).
+        final int oldChainScrollY = getChainScrollY();
+        final long oldSignature = getScrollSignature(getLeafLayout().getScrollTarget());
+        switch (event.getKeyCode()) {
+            case KeyEvent.KEYCODE_DPAD_UP:
+            case KeyEvent.KEYCODE_DPAD_LEFT:
+            case KeyEvent.KEYCODE_DPAD_DOWN:
+            case KeyEvent.KEYCODE_DPAD_RIGHT: {
+                final int keyCode = event.getKeyCode();
+                if (vertical != (keyCode == KeyEvent.KEYCODE_DPAD_UP
+                        || keyCode == KeyEvent.KEYCODE_DPAD_DOWN)) {
+                    return false;
+                }
+                final boolean toStart = keyCode == KeyEvent.KEYCODE_DPAD_UP
+                        || keyCode == KeyEvent.KEYCODE_DPAD_LEFT;
+                if (event.isAltPressed()) {
+                    scrollToEdge(toStart);
+                } else {
+                    scrollByInput(toStart ? step : -step);
+                }
+                break;
+            }
+            case KeyEvent.KEYCODE_PAGE_UP:
+                scrollByInput(page);
+                break;
+            case KeyEvent.KEYCODE_PAGE_DOWN:
+                scrollByInput(-page);
+                break;
+            case KeyEvent.KEYCODE_SPACE:
+                scrollByInput(event.isShiftPressed() ? page : -page);
+                break;
+            case KeyEvent.KEYCODE_MOVE_HOME:
+                scrollToEdge(true);
+                break;
+            case KeyEvent.KEYCODE_MOVE_END:
+                scrollToEdge(false);
+                break;
+            default:
+                return false;
+        }
+        // 按键滚动是同步完成的.
+        finishInputScroll();
+        return getChainScrollY() != oldChainScrollY
+                || getScrollSignature(getLeafLayout().getScrollTarget()) != oldSignature;
+    }
+
+    /**
+     * 滚轮/触控板/键盘滚动开始: 终止fling或归位动画, 进入SETTLING.
+     */
+    private void startInputScroll() {
+        resetScroller();
+        setScrollState(SCROLL_STATE_SETTLING);
+    }
+
+    private void finishInputScroll() {
+        if (mScrollState == SCROLL_STATE_SETTLING && ownedScroller() == null) {
+            setScrollState(SCROLL_STATE_IDLE);
+        }
+    }
+
+    /**
+     * 滚动到最开始(子View回到顶部且Header完全展开)或最末尾.
+     */
+    private void scrollToEdge(boolean toStart) {
+        startInputScroll();
+        if (mStretchDistance > 0) {
+            applyStretch(0);
+        }
+
+        final View target = getLeafLayout().getScrollTarget();
+        if (toStart) {
+            scrollChildToEdge(target, true, mOrientation);
+            dispatchChainScroll(Math.max(0, getChainScrollY()));
+        } else {
+            dispatchChainScroll(-getChainScrollRange());
+            scrollChildToEdge(target, false, mOrientation);
+        }
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        ScrollTrace.refresh();
+        attachToOuterLayout();
+    }
+
+    /**
+     * 若当前布局位于另一个NestedScrollLayout的scroll child中, 则加入其嵌套链.
+     */
+    private void attachToOuterLayout() {
+        View child = this;
+        ViewParent parent = getParent();
+        while (parent instanceof View) {
+            if (parent instanceof NestedScrollLayout) {
+                final NestedScrollLayout outer = (NestedScrollLayout) parent;
+                outer.ensureTarget();
+                if (outer.mScrollChildView == child && outer.mOrientation == mOrientation) {
+                    mOuterLayout = outer;
+                    if (!outer.mAttachedInnerLayouts.contains(this)) {
+                        outer.mAttachedInnerLayouts.add(this);
+                    }
+                    if (outer.mInnerLayout == null) {
+                        outer.mInnerLayout = this;
+                    }
+                }
+                return;
+            }
+            child = (View) parent;
+            parent = parent.getParent();
+        }
+    }
+
+    private void detachFromOuterLayout() {
+        if (mOuterLayout != null) {
+            mOuterLayout.mAttachedInnerLayouts.remove(this);
+            if (mOuterLayout.mInnerLayout == this) {
+                // 下次手势开始时会重新选择, 在此之前先使用剩余的任意一个.
+                mOuterLayout.mInnerLayout = mOuterLayout.mAttachedInnerLayouts.isEmpty()
+                        ? null : mOuterLayout.mAttachedInnerLayouts.get(0);
+            }
+        }
+        mOuterLayout = null;
+    }
+
+    /**
+     * 沿嵌套链逐层选择位于(x, y)(当前布局坐标系)下方且可见的内层布局,
+     * 某一层没有时嵌套链在该层结束.
+     */
+    private void selectInnerLayouts(float x, float y) {
+        NestedScrollLayout layout = this;
+        while (!layout.mAttachedInnerLayouts.isEmpty()) {
+            NestedScrollLayout selected = null;
+            for (int i = 0; i < layout.mAttachedInnerLayouts.size(); i++) {
+                final NestedScrollLayout inner = layout.mAttachedInnerLayouts.get(i);
+                if (!inner.isShown()) {
+                    continue;
+                }
+                mInnerLayoutRect.set(0, 0, inner.getWidth(), inner.getHeight());
+                offsetDescendantRectToMyCoords(inner, mInnerLayoutRect);
+                if (mInnerLayoutRect.contains((int) x, (int) y)) {
+                    selected = inner;
+                    break;
+                }
+            }
+            layout.mInnerLayout = selected;
+            if (selected == null) {
+                return;
+            }
+            layout = selected;
+        }
+    }
+
+    /**
+     * 嵌套链最内层的布局(没有嵌套时即为自身).
+     */
+    private NestedScrollLayout getLeafLayout() {
+        NestedScrollLayout layout = this;
+        while (layout.mInnerLayout != null) {
+            layout = layout.mInnerLayout;
+        }
+        return layout;
+    }
+
+    /**
+     * 嵌套链上任意一层的scroll child还可以向起始位置滚动
+     * (如内层布局作为RecyclerView的Item, 列表本身尚未回到顶部).
+     */
+    private boolean canChainChildScrollUp() {
+        return getScrollUpLayout() != null;
+    }
+
+    /**
+     * 由内向外查找scroll child还可以向起始位置滚动的布局, 没有时返回null.
+     */
+    private NestedScrollLayout getScrollUpLayout() {
+        for (NestedScrollLayout layout = getLeafLayout(); layout != null
+                ; layout = layout == this ? null : layout.mOuterLayout) {
+            if (layout.canChildScrollUp()) {
+                return layout;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 嵌套链上所有Header是否都已完全收起.
+     */
+    private boolean isChainCollapsed() {
+        for (NestedScrollLayout layout = this; layout != null; layout = layout.mInnerLayout) {
+            if (layout.getCurrentScrollY() < layout.getHeaderScrollRange()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int getChainScrollY() {
+        int scrollY = 0;
+        for (NestedScrollLayout layout = this; layout != null; layout = layout.mInnerLayout) {
+            scrollY += layout.getCurrentScrollY();
+        }
+        return scrollY;
+    }
+
+    private int getChainScrollRange() {
+        int range = 0;
+        for (NestedScrollLayout layout = this; layout != null; layout = layout.mInnerLayout) {
+            range += layout.getHeaderScrollRange();
+        }
+        return range;
+    }
+
+    /**
+     * 将位移沿嵌套链分发(dy > 0表示手指向下/向右, 即展开Header):
+     *      展开时由最内层开始消费, 内层Header完全展开后再交给外层;
+     *      收起时与单层布局一致, 先收起外层Header, 再收起内层Header.
+     *
+     * @return 未被消费的位移.
+     */
+    private int dispatchChainScroll(int dy) {
+        int remaining = dy;
+        if (dy > 0) {
+            for (NestedScrollLayout layout = getLeafLayout(); layout != null && remaining != 0
+                    ; layout = layout == this ? null : layout.mOuterLayout) {
+                remaining -= layout.consumeScroll(remaining);
+            }
+        } else {
+            for (NestedScrollLayout layout = this; layout != null && remaining != 0
+                    ; layout = layout.mInnerLayout) {
+                remaining -= layout.consumeScroll(remaining);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * @return 当前布局消费的位移.
+     */
+    private int consumeScroll(int dy) {
+        final int oldScrollY = getCurrentScrollY();
+        // 下拉刷新区域只能通过#pullRefreshBy(int)带阻尼地拉出.
+        moveChildrenTo(Math.max(oldScrollY - dy, Math.min(oldScrollY, 0)));
+        return oldScrollY - getCurrentScrollY();
+    }
+
+    /**
+     * 滚动到指定位置.
+     */
+    public void scrollTo(int y) {
+        moveChildrenTo(y);
+    }
+
+    /**
+     * 不直接展示Header, 直接让嵌套滚动的子View置顶.
+     */
+    public void scrollToNestedChild() {
+        post(new Runnable() {
+            @Override
+            public void run() {
+                moveChildrenTo(0);
+            }
+        });
+    }
+
+    public void scrollBy(int dy) {
+        offsetChildren(dy);
+    }
+
+    /**
+     * 此方法类似于#ScrollBy(int dy).
+     */
+    private void offsetChildren(float dy) {
+        moveChildrenTo(getCurrentScrollY() - (int) dy);
+    }
+
+    /**
+     * 当前滚动位置(水平方向时为X方向), 下拉刷新区域被拉出时为负值.
+     */
+    public int getCurrentScrollY() {
+        return getAxisSize(mHeaderView) - getAxisStart(mScrollChildView) + getAxisPaddingStart();
+    }
+
+    /**
+     * Header可滚动的范围.
+     */
+    private int getHeaderScrollRange() {
+        return Math.max(0, getAxisSize(mHeaderView) - mHeaderPinnedSize);
+    }
+
+    private void moveChildrenTo(int scrollY) {
+        final int paddingTop = getAxisPaddingStart();
+        final int headerHeight = getAxisSize(mHeaderView);
+        final int headerScrollRange = getHeaderScrollRange();
+        final int scrollChildTop = getAxisStart(mScrollChildView);
+        final int headerTop = getAxisStart(mHeaderView);
+
+        scrollY = Math.max(scrollY, getMinScrollY());
+        if (mRefreshView != null) {
+            final int refreshTop = paddingTop - getAxisSize(mRefreshView) - Math.min(scrollY, 0);
+            offsetAxis(mRefreshView, refreshTop - getAxisStart(mRefreshView));
+        }
+
+        int offset;
+        int headerOffset;
+        if (scrollY <= 0) {
+            offset = headerHeight + paddingTop - scrollChildTop - scrollY;
+            headerOffset = paddingTop - headerTop - scrollY;
+        } else if (scrollY >= headerScrollRange) {
+            offset = paddingTop + headerHeight - headerScrollRange - scrollChildTop;
+            headerOffset = Math.round(offset * mHeaderScrollRatio);
+        } else {
+            offset = paddingTop + headerHeight - scrollChildTop - scrollY;
+            headerOffset = Math.round(offset * mHeaderScrollRatio);
+            if((paddingTop - headerTop - headerOffset) < 0) {
+                headerOffset = 0;
+            }
+        }
+
+        offsetAxis(mHeaderView, headerOffset);
+        offsetAxis(mScrollChildView, offset);
+        if (ScrollTrace.isEnabled()) {
+            ScrollTrace.counter(ScrollTrace.COUNTER_SCROLL_Y, getCurrentScrollY());
+        }
+    }
+
+    private boolean isVertical() {
+        return mOrientation == VERTICAL;
+    }
+
+    /**
+     * 滚动方向上的起始padding.
+     */
+    private int getAxisPaddingStart() {
+        return isVertical() ? getPaddingTop() : getPaddingLeft();
+    }
+
+    private int getAxisStart(View view) {
+        return isVertical() ? view.getTop() : view.getLeft();
+    }
+
+    private int getAxisSize(View view) {
+        return isVertical() ? view.getHeight() : view.getWidth();
+    }
+
+    private void offsetAxis(View view, int offset) {
+        if (isVertical()) {
+            ViewCompat.offsetTopAndBottom(view, offset);
+        } else {
+            ViewCompat.offsetLeftAndRight(view, offset);
+        }
+    }
+
+    private void startFlingIfNeed(int velocity) {
+        final int currentScrollY = getChainScrollY();
+        mLastFlingY = currentScrollY;
+        mScrollerMode = SCROLLER_MODE_FLING;
+
+        if (velocity > 0) {
+            obtainScroller().fling(currentScrollY, -velocity, 0, currentScrollY);
+            setScrollState(SCROLL_STATE_FLINGING);
+            invalidate();
+        } else if (velocity < 0) {
+            obtainScroller().fling(currentScrollY, -velocity, currentScrollY, Integer.MAX_VALUE);
+            setScrollState(SCROLL_STATE_FLINGING);
+            invalidate();
+        }
+    }
+
+    @Override
+    public void computeScroll() {
+        final FlingPhysics scroller = ownedScroller();
+        if (scroller == null) {
+            return;
+        }
+        ScrollTrace.beginSection(ScrollTrace.SECTION_COMPUTE_SCROLL);
+        try {
+            computeScrollOffset(scroller);
+        } finally {
+            ScrollTrace.endSection();
+        }
+    }
+
+    private void computeScrollOffset(FlingPhysics scroller) {
+        if (scroller.computeScrollOffset()) {
+            if (mScrollerMode == SCROLLER_MODE_SPRING_BACK) {
+                applyStretch(-scroller.getCurrPosition());
+                invalidate();
+                return;
+            }
+            if (mScrollerMode == SCROLLER_MODE_SETTLE) {
+                moveChildrenTo(scroller.getCurrPosition());
+                invalidate();
+                return;
+            }
+
+            int currentY = scroller.getCurrPosition();
+            final int unconsumed = dispatchChainScroll(mLastFlingY - currentY);
+            mLastFlingY = currentY;
+            if (ScrollTrace.isEnabled()) {
+                ScrollTrace.counter(ScrollTrace.COUNTER_FLING_VELOCITY, (int) scroller.getCurrVelocity());
+            }
+            if (mFlingHandoff == FLING_HANDOFF_CONTINUOUS && getLeafLayout().getScrollTarget() != null) {
+                // Header收起后继续以同一滚动模型驱动子View.
+                if (unconsumed < 0 && !getLeafLayout().scrollChildBy(-unconsumed)) {
+                    scroller.abortAnimation();
+                }
+            } else {
+                dispatchFlingIfNeed(scroller, currentY);
+            }
+
+            invalidate();
+        } else {
+            if (mScrollerMode == SCROLLER_MODE_FLING) {
+                ScrollTrace.counter(ScrollTrace.COUNTER_FLING_VELOCITY, 0);
+            }
+            onScrollerLost();
+        }
+    }
+
+    private void dispatchFlingIfNeed(FlingPhysics scroller, int currentY) {
+        if(currentY >= getChainScrollRange()) {
+            ScrollTrace.beginSection(ScrollTrace.SECTION_DISPATCH_FLING);
+            try {
+                float velocityRemained = scroller.getCurrVelocity();
+                scroller.abortAnimation();
+                ScrollTrace.counter(ScrollTrace.COUNTER_FLING_VELOCITY, 0);
+
+                if (velocityRemained > 0) {
+                    getLeafLayout().dispatchChildFling(velocityRemained);
+                    setScrollState(SCROLL_STATE_HANDED_OFF);
+                } else {
+                    setScrollState(SCROLL_STATE_IDLE);
+                }
+            } finally {
+                ScrollTrace.endSection();
+            }
+        }
+    }
+
+    /**
+     * 拉伸Header, dy > 0时拉伸(带阻尼), dy < 0时优先回收已有的拉伸距离.
+     *
+     * @return 未被消费的位移.
+     */
+    private int stretchBy(int dy) {
+        if (!mHeaderStretchEnabled || dy == 0) {
+            return dy;
+        }
+        if (dy < 0 && mStretchDistance <= 0) {
+            return dy;
+        }
+
+        final float maxStretch = getMaxStretchDistance();
+        if (maxStretch <= 0) {
+            return dy;
+        }
+        // stretch = max * pull / (pull + max), 越接近最大距离阻力越大.
+        final float stretch = Math.min(mStretchDistance, maxStretch - 1);
+        final float pull = maxStretch * stretch / (maxStretch - stretch) + dy;
+        if (pull <= 0) {
+            applyStretch(0);
+            return Math.round(pull);
+        }
+        applyStretch(maxStretch * pull / (pull + maxStretch));
+        return 0;
+    }
+
+    private void applyStretch(float stretch) {
+        mStretchDistance = stretch;
+
+        final int headerSize = getAxisSize(mHeaderView);
+        final float scale = headerSize > 0 ? (headerSize + stretch) / headerSize : 1.F;
+        if (isVertical()) {
+            mHeaderView.setPivotX(mHeaderView.getWidth() * 0.5F);
+            mHeaderView.setPivotY(0);
+            mScrollChildView.setTranslationY(stretch);
+        } else {
+            mHeaderView.setPivotX(0);
+            mHeaderView.setPivotY(mHeaderView.getHeight() * 0.5F);
+            mScrollChildView.setTranslationX(stretch);
+        }
+        mHeaderView.setScaleX(scale);
+        mHeaderView.setScaleY(scale);
+    }
+
+    private void startSpringBack() {
+        if (mStretchDistance <= 0) {
+            return;
+        }
+        mScrollerMode = SCROLLER_MODE_SPRING_BACK;
+        if (obtainScroller().springBack(-Math.round(mStretchDistance), 0, 0)) {
+            setScrollState(SCROLL_STATE_SETTLING);
+            invalidate();
+        } else {
+            applyStretch(0);
+        }
+    }
+
+    private float getMaxStretchDistance() {
+        return mMaxStretchDistance > 0 ? mMaxStretchDistance : getAxisSize(mHeaderView) * 0.5F;
+    }
+
+    private boolean isRefreshAvailable() {
+        return mRefreshEnabled && mRefreshView != null && getAxisSize(mRefreshView) > 0;
+    }
+
+    private int getRefreshTriggerDistance() {
+        return mRefreshTriggerDistance > 0 ? mRefreshTriggerDistance : getAxisSize(mRefreshView);
+    }
+
+    /**
+     * 下拉刷新区域可拉出的最大距离为触发距离的两倍.
+     */
+    private int getMinScrollY() {
+        return isRefreshAvailable() ? -2 * getRefreshTriggerDistance() : 0;
+    }
+
+    private void pullRefreshBy(int dy) {
+        final int pull = Math.max(1, (int) (dy * REFRESH_DRAG_RATE));
+        moveChildrenTo(getCurrentScrollY() - pull);
+    }
+
+    /**
+     * 手指离开时: 超过触发距离(或正在刷新)则停留在刷新位置, 否则收回.
+     */
+    private void finishPullRefresh() {
+        if (!isRefreshAvailable()) {
+            settleTo(0);
+            return;
+        }
+
+        final int triggerDistance = getRefreshTriggerDistance();
+        if (mRefreshing || getCurrentScrollY() <= -triggerDistance) {
+            settleTo(-triggerDistance);
+            if (!mRefreshing) {
+                mRefreshing = true;
+                if (mRefreshListener != null) {
+                    mRefreshListener.onRefresh(this);
+                }
+            }
+        } else {
+            settleTo(0);
+        }
+    }
+
+    /**
+     * 手势被取消(父View拦截、窗口失去焦点等): 只回到静止位置, 不触发刷新.
+     */
+    private void cancelPullRefresh() {
+        settleTo(mRefreshing && isRefreshAvailable() ? -getRefreshTriggerDistance() : 0);
+    }
+
+    private void settleTo(int scrollY) {
+        final int currentScrollY = getCurrentScrollY();
+        if (currentScrollY == scrollY) {
+            onScrollerLost();
+            return;
+        }
+        mScrollerMode = SCROLLER_MODE_SETTLE;
+        obtainScroller().startScroll(currentScrollY, scrollY - currentScrollY
+                , REFRESH_SETTLE_DURATION);
+        setScrollState(SCROLL_STATE_SETTLING);
+        invalidate();
+    }
+
+    private void dispatchChildFling(float velocity) {
+        if (mChildScrollCallback != null) {
+            ScrollTrace.beginSection(ScrollTrace.SECTION_CALLBACK_DISPATCH_FLING);
+            try {
+                mChildScrollCallback.dispatchFlingVelocity(this, mScrollChildView, velocity);
+            } finally {
+                ScrollTrace.endSection();
+            }
+        } else {
+            helpScrollChildFling(mScrollChildView, velocity, mOrientation);
+        }
+    }
+
+    /**
+     * 当前实际滚动的子View(可能位于scroll child内部), 无法确定时返回null.
+     */
+    private View getScrollTarget() {
+        if (mChildScrollCallback == null) {
+            return mScrollChildView;
+        }
+        if (mChildScrollCallback instanceof ScrollTargetProvider) {
+            return ((ScrollTargetProvider) mChildScrollCallback).getScrollTarget(this, mScrollChildView);
+        }
+        return null;
+    }
+
+    /**
+     * 沿滚动方向向后滚动子View.
+     *
+     * @return 子View是否还能继续滚动.
+     */
+    private boolean scrollChildBy(int delta) {
+        final View target = getScrollTarget();
+        if (target == null || !canScrollToEnd(target, mOrientation)) {
+            return false;
+        }
+        helpScrollChildBy(target, delta, mOrientation);
+        return true;
+    }
+
+    private void acquireVelocityTracker(MotionEvent ev) {
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(ev);
+    }
+
+    private void releaseVelocityTracker() {
+        if (mVelocityTracker != null) {
+            mVelocityTracker.clear();
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    /**
+     * 嵌套链最外层的布局(没有嵌套时即为自身).
+     */
+    private NestedScrollLayout getRootLayout() {
+        NestedScrollLayout layout = this;
+        while (layout.mOuterLayout != null) {
+            layout = layout.mOuterLayout;
+        }
+        return layout;
+    }
+
+    /**
+     * 当前滚动状态, 嵌套时返回最外层布局的状态.
+     */
+    public int getScrollState() {
+        return getRootLayout().mScrollState;
+    }
+
+    public boolean isIdle() {
+        return getScrollState() == SCROLL_STATE_IDLE;
+    }
+
+    /**
+     * 嵌套时状态变化同样会通知给内层布局的监听.
+     */
+    public void addOnScrollStateChangeListener(OnScrollStateChangeListener listener) {
+        if (mScrollStateListeners == null) {
+            mScrollStateListeners = new ArrayList<>();
+        }
+        mScrollStateListeners.add(listener);
+    }
+
+    public void removeOnScrollStateChangeListener(OnScrollStateChangeListener listener) {
+        if (mScrollStateListeners != null) {
+            mScrollStateListeners.remove(listener);
+        }
+    }
+
+    /**
+     * 空闲时立即执行, 否则在下次进入IDLE时执行(只执行一次).
+     * 可用于将图片解码、预加载、统计上报等推迟到滚动停止之后.
+     */
+    public void runWhenIdle(Runnable action) {
+        if (isIdle()) {
+            action.run();
+            return;
+        }
+        if (mIdleRunnables == null) {
+            mIdleRunnables = new ArrayList<>();
+        }
+        mIdleRunnables.add(action);
+    }
+
+    public void removeIdleRunnable(Runnable action) {
+        if (mIdleRunnables != null) {
+            mIdleRunnables.remove(action);
+        }
+    }
+
+    private void setScrollState(int state) {
+        if (mScrollState == state) {
+            return;
+        }
+        final int oldState = mScrollState;
+        mScrollState = state;
+        ScrollTrace.counter(ScrollTrace.COUNTER_SCROLL_STATE, state);
+
+        if (state == SCROLL_STATE_HANDED_OFF) {
+            startHandOffPolling();
+        } else if (state == SCROLL_STATE_IDLE) {
+            // 手势及fling相关的资源在空闲时统一释放.
+            releaseVelocityTracker();
+            resetScroller();
+        }
+
+        for (NestedScrollLayout layout = this; layout != null; layout = layout.mInnerLayout) {
+            layout.dispatchScrollStateChanged(oldState, state);
+        }
+    }
+
+    private void dispatchScrollStateChanged(int oldState, int newState) {
+        if (mScrollStateListeners != null) {
+            for (int i = mScrollStateListeners.size() - 1; i >= 0; i--) {
+                mScrollStateListeners.get(i).onScrollStateChanged(this, oldState, newState);
+            }
+        }
+        if (newState == SCROLL_STATE_IDLE && mIdleRunnables != null && !mIdleRunnables.isEmpty()) {
+            final List<Runnable> actions = new ArrayList<>(mIdleRunnables);
+            mIdleRunnables.clear();
+            for (Runnable action : actions) {
+                action.run();
+            }
+        }
+    }
+
+    private void startHandOffPolling() {
+        mHandOffSignature = getScrollSignature(getLeafLayout().getScrollTarget());
+        mHandOffStillFrames = 0;
+        removeCallbacks(mHandOffPoller);
+        ViewCompat.postOnAnimation(this, mHandOffPoller);
+    }
+
+    /**
+     * 交给子View的拖动/fling是否已经停止.
+     */
+    private boolean isHandOffFinished() {
+        final View target = getLeafLayout().getScrollTarget();
+        if (target == null) {
+            return true;
+        }
+        if (target instanceof RecyclerView) {
+            return ((RecyclerView) target).getScrollState() == RecyclerView.SCROLL_STATE_IDLE;
+        }
+        final long signature = getScrollSignature(target);
+        if (signature != mHandOffSignature) {
+            mHandOffSignature = signature;
+            mHandOffStillFrames = 0;
+            return false;
+        }
+        // 连续两帧滚动位置不变视为停止.
+        return ++mHandOffStillFrames >= 2;
+    }
+
+    private static long getScrollSignature(View target) {
+        if (target == null) {
+            return 0;
+        }
+        if (target instanceof AbsListView) {
+            final AbsListView listView = (AbsListView) target;
+            final int top = listView.getChildCount() > 0 ? listView.getChildAt(0).getTop() : 0;
+            return ((long) listView.getFirstVisiblePosition() << 32) | (top & 0xFFFFFFFFL);
+        }
+        if (target instanceof RecyclerView) {
+            // RecyclerView滚动时不改变自身的scrollX/scrollY.
+            final RecyclerView recyclerView = (RecyclerView) target;
+            return ((long) recyclerView.computeHorizontalScrollOffset() << 32)
+                    | (recyclerView.computeVerticalScrollOffset() & 0xFFFFFFFFL);
+        }
+        return ((long) target.getScrollX() << 32) | (target.getScrollY() & 0xFFFFFFFFL);
+    }
+
+    public void setOnRefreshListener(OnRefreshListener listener) {
+        mRefreshListener = listener;
+    }
+
+    public void setRefreshEnabled(boolean enabled) {
+        mRefreshEnabled = enabled;
+        if (!enabled) {
+            setRefreshing(false);
+        }
+    }
+
+    public boolean isRefreshing() {
+        return mRefreshing;
+    }
+
+    /**
+     * 设置刷新状态, 刷新区域随之展开或收起(不回调{@link OnRefreshListener}).
+     */
+    public void setRefreshing(boolean refreshing) {
+        mRefreshing = refreshing;
+        mPendingRefresh = refreshing && (mFirstLayout || !isRefreshAvailable());
+        if (mPendingRefresh || mHeaderView == null || mScrollChildView == null) {
+            return;
+        }
+        if (refreshing && isRefreshAvailable()) {
+            resetScroller();
+            settleTo(-getRefreshTriggerDistance());
+        } else if (!refreshing && getCurrentScrollY() < 0) {
+            resetScroller();
+            settleTo(0);
+        }
+    }
+
+    /**
+     * 设置触发刷新的下拉距离, 默认为刷新指示View的高度.
+     */
+    public void setRefreshTriggerDistance(int distance) {
+        mRefreshTriggerDistance = distance;
+    }
+
+    /**
+     * 设置Header顶部下拉时是否拉伸放大.
+     */
+    public void setHeaderStretchEnabled(boolean enabled) {
+        mHeaderStretchEnabled = enabled;
+        if (!enabled && mStretchDistance > 0) {
+            applyStretch(0);
+        }
+    }
+
+    /**
+     * 设置Header最大拉伸距离, 默认为Header高度的一半.
+     */
+    public void setMaxStretchDistance(int distance) {
+        mMaxStretchDistance = distance;
+    }
+
+    /**
+     * 设置滚动模型, 如{@link SplineFlingPhysics}、{@link DecayFlingPhysics}或自定义实现.
+     * 同一个FlingPhysics设置给多个布局时, 这些布局共享同一个{@link SharedScroller}.
+     */
+    public void setFlingPhysics(FlingPhysics physics) {
+        setSharedScroller(SharedScroller.of(physics));
+    }
+
+    /**
+     * 设置fling摩擦系数, 为所用{@link FlingPhysics}默认摩擦的倍数, 1为默认值.
+     * 样条与衰减两种模型使用同一单位, 切换app:fling_physics时不需要调整该值.
+     *
+     * @see FlingPhysics#setFriction(float)
+     */
+    public void setFlingFriction(float friction) {
+        mFlingFriction = friction;
+    }
+
+    /**
+     * 设置fling衔接方式 {@link #FLING_HANDOFF_NATIVE} 或 {@link #FLING_HANDOFF_CONTINUOUS}.
+     */
+    public void setFlingHandoff(int handoff) {
+        mFlingHandoff = handoff;
+    }
+
+    /**
+     * 设置开始拖动的最小距离(px), 默认为系统TouchSlop的1/4.
+     */
+    public void setTouchSlop(float touchSlop) {
+        mTouchSlop = touchSlop;
+    }
+
+    /**
+     * 与其它NestedScrollLayout共享Scroller(如同一列表中的各个Item).
+     */
+    public void setSharedScroller(SharedScroller scroller) {
+        if (mSharedScroller == scroller) {
+            return;
+        }
+        resetScroller();
+        mSharedScroller = scroller;
+    }
+
+    /**
+     * 重置滚动状态(Header完全展开), 并释放当前手势及fling相关的资源.
+     * 嵌入RecyclerView的Item时, 应在#onBindViewHolder中调用.
+     */
+    public void resetScrollState() {
+        resetScroller();
+        releaseVelocityTracker();
+        setScrollState(SCROLL_STATE_IDLE);
+
+        mIsDragging = false;
+        mMockDownEvent = false;
+        mActivePointerId = INVALID_POINTER;
+        mHeaderIndex = -1;
+        mScrollChildIndex = -1;
+
+        if (mHeaderView != null && mScrollChildView != null) {
+            if (mStretchDistance > 0) {
+                applyStretch(0);
+            }
+            moveChildrenTo(0);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        removeCallbacks(mHandOffPoller);
+        mTouchActive = false;
+        setScrollState(SCROLL_STATE_IDLE);
+        resetScroller();
+        releaseVelocityTracker();
+        removeCallbacks(mInputScrollRunnable);
+        mInputScrollScheduled = false;
+        mPendingInputScroll = 0;
+        detachFromOuterLayout();
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * 设置嵌套滚动系数
+     * 效果：Header滚动和嵌套滚动的子View滚动速度不一致, 呈现出一种平行错位的效果.
+     */
+    public void setHeaderScrollRatio(float ratio) {
+        if (ratio < 0.F || ratio > 1.F) {
+            return;
+        }
+        mHeaderScrollRatio = ratio;
+    }
+
+    /**
+     * 设置Header收起后仍保持可见的大小(px).
+     */
+    public void setHeaderPinnedSize(int pinnedSize) {
+        if (pinnedSize < 0 || mHeaderPinnedSize == pinnedSize) {
+            return;
+        }
+        mHeaderPinnedSize = pinnedSize;
+        requestLayout();
+    }
+
+    /**
+     * 设置滚动方向 {@link #VERTICAL} 或 {@link #HORIZONTAL}, 需在加入嵌套链(attach)之前设置.
+     */
+    public void setOrientation(int orientation) {
+        if (orientation != VERTICAL && orientation != HORIZONTAL) {
+            throw new IllegalArgumentException("Invalid orientation: " + orientation);
+        }
+        if (mOrientation == orientation) {
+            return;
+        }
+        mOrientation = orientation;
+        mScrollFactor = 0;
+        mFirstLayout = true;
+        requestLayout();
+    }
+
+    public int getOrientation() {
+        return mOrientation;
+    }
+
+    /**
+     * 判断子View是否可以向上(水平方向时为向左)滚动.
+     */
+    private boolean canChildScrollUp() {
+        if (mChildScrollCallback != null) {
+            ScrollTrace.beginSection(ScrollTrace.SECTION_CALLBACK_CAN_SCROLL_UP);
+            try {
+                return mChildScrollCallback.canChildScrollUp(this, mScrollChildView);
+            } finally {
+                ScrollTrace.endSection();
+            }
+        }
+        return canScrollToStart(mScrollChildView, mOrientation);
+    }
+
+    private static int orientationOf(NestedScrollLayout parent) {
+        return parent == null ? VERTICAL : parent.mOrientation;
+    }
+
+    /**
+     * 判断指定的可滚动View是否可以沿滚动方向向起始位置滚动.
+     */
+    static boolean canScrollToStart(View target, int orientation) {
+        if (orientation == VERTICAL) {
+            return canScrollUp(target);
+        }
+        if (target instanceof WebView) {
+            return target.getScrollX() > 0 || target.canScrollHorizontally(-1);
+        }
+        return target.canScrollHorizontally(-1);
+    }
+
+    /**
+     * 判断指定的可滚动View是否可以沿滚动方向继续向后滚动.
+     */
+    static boolean canScrollToEnd(View target, int orientation) {
+        if (orientation == HORIZONTAL) {
+            return target.canScrollHorizontally(1);
+        }
+        if (target instanceof ListView) {
+            return ListViewCompat.canScrollList((ListView) target, 1);
+        }
+        return target.canScrollVertically(1);
+    }
+
+    /**
+     * 判断指定的可滚动View是否可以向上滚动.
+     */
+    static boolean canScrollUp(View target) {
+        if (target instanceof ListView) {
+            return ListViewCompat.canScrollList((ListView) target, -1);
+        }
+        if (target instanceof WebView) {
+            // 页面内容尚未完成排版时computeVerticalScrollRange()并不可靠,
+            // 以scrollY作为补充判断.
+            return target.getScrollY() > 0 || target.canScrollVertically(-1);
+        }
+        return target.canScrollVertically(-1);
+    }
+
+    public void setOnChildScrollCallback(OnChildScrollCallback callback) {
+        mChildScrollCallback = callback;
+    }
+
+    public interface OnRefreshListener {
+
+        void onRefresh(NestedScrollLayout layout);
+    }
+
+    public interface OnScrollStateChangeListener {
+
+        void onScrollStateChanged(NestedScrollLayout layout, int oldState, int newState);
+    }
+
+    /**
+     * 由OnChildScrollCallback额外实现, 提供实际滚动的子View,
+     * 用于连续fling衔接等需要直接滚动子View的场景.
+     */
+    public interface ScrollTargetProvider {
+
+        View getScrollTarget(NestedScrollLayout parent, View child);
+    }
+
+    public interface OnChildScrollCallback {
+
+        boolean canChildScrollUp(NestedScrollLayout parent, View child);
+
+        /**
+         * 当嵌套滚动子View滚动到顶部时, 若还有fling速度余量,
+         * 可通过此方法将速度分发给子View继续滚动.
+         */
+        void dispatchFlingVelocity(NestedScrollLayout parent, View child, float velocity);
+    }
+
+    // helper.
+
+    /**
+     * 辅助Fling的工具方法.
+     */
+    public static void helpScrollChildFling(View child, float velocity) {
+        helpScrollChildFling(child, velocity, VERTICAL);
+    }
+
+    /**
+     * 辅助Fling的工具方法, 水平方向支持RecyclerView、HorizontalScrollView及WebView.
+     */
+    public static void helpScrollChildFling(View child, float velocity, int orientation) {
+        if(child == null) {
+            return;
+        }
+        if(orientation == HORIZONTAL) {
+            if(child instanceof RecyclerView) {
+                RecyclerView recyclerView = (RecyclerView) child;
+                recyclerView.fling((int) velocity, 0);
+            } else if(child instanceof HorizontalScrollView) {
+                HorizontalScrollView scrollView = (HorizontalScrollView) child;
+                scrollView.fling((int) velocity);
+            } else if(child instanceof WebView) {
+                WebView webView = (WebView) child;
+                webView.flingScroll((int) velocity, 0);
+            }
+            return;
+        }
+        if(child instanceof AbsListView) {
+            AbsListView listView = (AbsListView) child;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                listView.fling((int) velocity);
+            } else {
+                flingListViewByReflection(listView, (int) velocity);
+            }
+        } else if(child instanceof RecyclerView) {
+            RecyclerView recyclerView = (RecyclerView) child;
+            recyclerView.fling(0, (int) velocity);
+        } else if(child instanceof ScrollView) {
+            ScrollView scrollView = (ScrollView) child;
+            scrollView.fling((int) velocity);
+        } else if(child instanceof NestedScrollView) {
+            NestedScrollView nestedScrollView = (NestedScrollView) child;
+            nestedScrollView.fling((int) velocity);
+        } else if(child instanceof WebView) {
+            WebView webView = (WebView) child;
+            webView.flingScroll(0, (int) velocity);
+        }
+    }
+
+
+    /**
+     * 辅助滚动指定距离的工具方法.
+     */
+    public static void helpScrollChildBy(View child, int delta, int orientation) {
+        if(child == null || delta == 0) {
+            return;
+        }
+        if(orientation == HORIZONTAL) {
+            child.scrollBy(delta, 0);
+        } else if(child instanceof ListView) {
+            ListViewCompat.scrollListBy((ListView) child, delta);
+        } else {
+            child.scrollBy(0, delta);
+        }
+    }
+
+    /**
+     * 将子View滚动到最开始或最末尾.
+     */
+    private static void scrollChildToEdge(View child, boolean toStart, int orientation) {
+        if (child == null) {
+            return;
+        }
+        final boolean vertical = orientation == VERTICAL;
+        if (child instanceof RecyclerView) {
+            final RecyclerView.Adapter adapter = ((RecyclerView) child).getAdapter();
+            final int count = adapter == null ? 0 : adapter.getItemCount();
+            if (count > 0) {
+                ((RecyclerView) child).scrollToPosition(toStart ? 0 : count - 1);
+            }
+        } else if (child instanceof AbsListView) {
+            final AbsListView listView = (AbsListView) child;
+            final int count = listView.getCount();
+            if (count > 0) {
+                listView.setSelection(toStart ? 0 : count - 1);
+            }
+        } else if (child instanceof WebView) {
+            if (toStart) {
+                ((WebView) child).pageUp(true);
+            } else {
+                ((WebView) child).pageDown(true);
+            }
+        } else if (child instanceof ScrollView) {
+            ((ScrollView) child).fullScroll(toStart ? FOCUS_UP : FOCUS_DOWN);
+        } else if (child instanceof NestedScrollView) {
+            ((NestedScrollView) child).fullScroll(toStart ? FOCUS_UP : FOCUS_DOWN);
+        } else if (child instanceof HorizontalScrollView) {
+            ((HorizontalScrollView) child).fullScroll(toStart ? FOCUS_LEFT : FOCUS_RIGHT);
+        } else if (toStart) {
+            child.scrollTo(vertical ? child.getScrollX() : 0, vertical ? 0 : child.getScrollY());
+        }
+    }
+
+    /**
+     * 版本低于LOLLIPOP通过反射fling.
+     */
+    private static void flingListViewByReflection(AbsListView listView, int velocity) {
+        try {
+            Field flingRunnableField = AbsListView.class.getDeclaredField("mFlingRunnable");
+            flingRunnableField.setAccessible(true);
+            Object flingRunnable = flingRunnableField.get(listView);
+            @SuppressLint("PrivateApi")
+            Class<?> flingRunnableClazz = Class.forName("android.widget.AbsListView$FlingRunnable");
+            if(flingRunnable == null) {
+                Constructor<?> cs = flingRunnableClazz.getDeclaredConstructor(AbsListView.class);
+                cs.setAccessible(true);
+                flingRunnable = cs.newInstance(listView);
+            }
+            flingRunnableField.set(listView, flingRunnable);
+            @SuppressLint("PrivateApi")
+            Method reportScrollStateChangeMethod = AbsListView.class.getDeclaredMethod("reportScrollStateChange", int.class);
+            reportScrollStateChangeMethod.setAccessible(true);
+            reportScrollStateChangeMethod.invoke(listView, AbsListView.OnScrollListener.SCROLL_STATE_FLING);
+
+            Method startMethod = flingRunnableClazz.getDeclaredMethod("start", int.class);
+            startMethod.setAccessible(true);
+            startMethod.invoke(flingRunnable, velocity);
+        } catch (Exception e) {
+            // nope.
+        }
+    }
+
+    /**
+     * 可在多个NestedScrollLayout之间共享的Scroller,
+     * 同一时刻只由最近一次开始fling的布局驱动, 其它布局的fling随之终止.
+     */
+    public static final class SharedScroller {
+        /**
+         * 每个FlingPhysics只对应一个SharedScroller, 避免多个布局同时驱动同一个动画.
+         * SharedScroller持有physics, 因此value使用弱引用, 否则key永远不会被回收. 只在主线程访问.
+         */
+        private static final Map<FlingPhysics, WeakReference<SharedScroller>> sShared = new WeakHashMap<>();
+
+        private final Context mContext;
+        private FlingPhysics mPhysics;
+        private NestedScrollLayout mOwner;
+
+        /**
+         * 滚动模型由第一个使用它的布局的app:fling_physics决定.
+         */
+        public SharedScroller(Context context) {
+            mContext = context.getApplicationContext();
+        }
+
+        /**
+         * 同一个physics请使用{@link #of(FlingPhysics)}获取共享的实例.
+         */
+        public SharedScroller(FlingPhysics physics) {
+            if (physics == null) {
+                throw new IllegalArgumentException("FlingPhysics can't be null!");
+            }
+            mContext = null;
+            mPhysics = physics;
+        }
+
+        /**
+         * 返回physics对应的SharedScroller, 不存在时创建.
+         */
+        public static SharedScroller of(FlingPhysics physics) {
+            if (physics == null) {
+                throw new IllegalArgumentException("FlingPhysics can't be null!");
+            }
+            final WeakReference<SharedScroller> ref = sShared.get(physics);
+            SharedScroller scroller = ref != null ? ref.get() : null;
+            if (scroller == null) {
+                scroller = new SharedScroller(physics);
+                sShared.put(physics, new WeakReference<>(scroller));
+            }
+            return scroller;
+        }
+
+        FlingPhysics obtain(NestedScrollLayout owner) {
+            if (mPhysics == null) {
+                mPhysics = createFlingPhysics(mContext, owner.mFlingPhysicsType);
+            }
+            if (mOwner != owner) {
+                final NestedScrollLayout previous = mOwner;
+                mPhysics.abortAnimation();
+                mOwner = owner;
+                if (previous != null) {
+                    previous.onScrollerLost();
+                }
+            }
+            return mPhysics;
+        }
+
+        boolean isOwnedBy(NestedScrollLayout layout) {
+            return mOwner == layout;
+        }
+
+        void release(NestedScrollLayout owner) {
+            if (mOwner == owner) {
+                mPhysics.abortAnimation();
+                mOwner = null;
+            }
+        }
+    }
+
+    /**
+     * 适配Section Pinned.
+     */
+    public static class SectionPinnedFlingHelper implements OnChildScrollCallback, ScrollTargetProvider {
+        private View mTargetView;
+
+        public SectionPinnedFlingHelper(View targetView) {
+            mTargetView = targetView;
+        }
+
+        @Override
+        public boolean canChildScrollUp(NestedScrollLayout parent, View child) {
+            if(mTargetView == null) return false;
+
+            return canScrollToStart(mTargetView, orientationOf(parent));
+        }
+
+        @Override
+        public void dispatchFlingVelocity(NestedScrollLayout parent, View child, float velocity) {
+            helpScrollChildFling(mTargetView, velocity, orientationOf(parent));
+        }
+
+        @Override
+        public View getScrollTarget(NestedScrollLayout parent, View child) {
+            return mTargetView;
+        }
+    }
+
+    /**
+     * 适配WebView.
+     * note：
+     *      页面内部自行滚动的区域(如overflow:scroll的div)不会改变WebView的scrollY,
+     *      可通过{@link #setContentScrolledUp(boolean)}由页面脚本回传滚动状态.
+     */
+    public static class WebViewFlingHelper implements OnChildScrollCallback, ScrollTargetProvider {
+        private WebView mWebView;
+        private volatile boolean mContentScrolledUp;
+
+        public WebViewFlingHelper(WebView webView) {
+            if(webView == null) {
+                throw new IllegalArgumentException("WebView can't be null!");
+            }
+            mWebView = webView;
+        }
+
+        /**
+         * 标记页面内部滚动区域是否已离开顶部(可在JavascriptInterface中调用).
+         */
+        public void setContentScrolledUp(boolean scrolledUp) {
+            mContentScrolledUp = scrolledUp;
+        }
+
+        @Override
+        public boolean canChildScrollUp(NestedScrollLayout parent, View child) {
+            return mContentScrolledUp || canScrollToStart(mWebView, orientationOf(parent));
+        }
+
+        @Override
+        public void dispatchFlingVelocity(NestedScrollLayout parent, View child, float velocity) {
+            helpScrollChildFling(mWebView, velocity, orientationOf(parent));
+        }
+
+        @Override
+        public View getScrollTarget(NestedScrollLayout parent, View child) {
+            return mWebView;
+        }
+    }
+
+    /**
+     * 适配ViewPager.
+     * note：
+     *      所有页面共用一个Header, 切换页面时可通过{@link #setPageSyncPolicy(NestedScrollLayout, int)}
+     *      让新页面的列表与Header状态保持一致:
+     *          PAGE_SYNC_ALIGN_CHILD: Header未完全收起时, 新页面露出前将其列表滚动到顶部;
+     *          PAGE_SYNC_RESTORE_HEADER: 为每个页面记录Header位置, 切换到该页面时恢复.
+     */
+    public static class ViewPagerFlingHelper implements OnChildScrollCallback, ScrollTargetProvider {
+        public static final int PAGE_SYNC_NONE = 0;
+        public static final int PAGE_SYNC_ALIGN_CHILD = 1;
+        public static final int PAGE_SYNC_RESTORE_HEADER = 2;
+
+        private ViewPager mViewPager;
+        private SparseArray<View> mScrollChildContainer;
+
+        private final Rect mTempRect = new Rect();
+
+        private NestedScrollLayout mParent;
+        private int mPageSyncPolicy = PAGE_SYNC_NONE;
+        /**
+         * 每个页面离开时的Header位置.
+         */
+        private final SparseIntArray mPageScrollOffsets = new SparseIntArray();
+        /**
+         * 每个页面离开时其列表的滚动状态, 页面被销毁重建后在首次布局前恢复.
+         */
+        private final SparseArray<Parcelable> mPageChildStates = new SparseArray<>();
+        private int mSelectedPage = -1;
+        private int mPagerScrollState = ViewPager.SCROLL_STATE_IDLE;
+        /**
+         * 当前切换过程中已同步过的页面, 避免每帧重复同步.
+         */
+        private int mSyncedPage = -1;
+
+        private final ViewPager.OnPageChangeListener mPageChangeListener
+                = new ViewPager.SimpleOnPageChangeListener() {
+
+            @Override
+            public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+                if (mPageSyncPolicy == PAGE_SYNC_RESTORE_HEADER
+                        && mPagerScrollState != ViewPager.SCROLL_STATE_IDLE) {
+                    // 跟随页面滑动在两个页面的Header位置之间过渡, 新页面完全露出时Header已到位.
+                    final int from = mPageScrollOffsets.get(position, 0);
+                    final int to = mPageScrollOffsets.get(position + 1, 0);
+                    mParent.scrollTo(from + Math.round((to - from) * positionOffset));
+                }
+                if (positionOffset <= 0.F) {
+                    return;
+                }
+                final int currentItem = mViewPager.getCurrentItem();
+                // position为左侧页面, 当前页面向左滑出时右侧页面即将露出.
+                final int incoming = position == currentItem ? position + 1 : position;
+                if (incoming != currentItem && incoming != mSyncedPage) {
+                    mSyncedPage = incoming;
+                    syncPage(incoming);
+                }
+            }
+
+            @Override
+            public void onPageSelected(int position) {
+                onPageChanged(position);
+            }
+
+            @Override
+            public void onPageScrollStateChanged(int state) {
+                final int oldState = mPagerScrollState;
+                mPagerScrollState = state;
+                if (state == ViewPager.SCROLL_STATE_IDLE) {
+                    mSyncedPage = -1;
+                    if (mPageSyncPolicy == PAGE_SYNC_RESTORE_HEADER) {
+                        mParent.scrollTo(mPageScrollOffsets.get(mSelectedPage, 0));
+                    }
+                } else if (oldState == ViewPager.SCROLL_STATE_IDLE
+                        && mPageSyncPolicy == PAGE_SYNC_RESTORE_HEADER && mSelectedPage >= 0) {
+                    // 开始切换时记录当前页面的Header位置, 作为过渡的起点.
+                    mPageScrollOffsets.put(mSelectedPage, mParent.getCurrentScrollY());
+                    mParent.stopScroll();
+                }
+            }
+        };
+
+        public ViewPagerFlingHelper(ViewPager viewPager) {
+            if(viewPager == null) {
+                throw new IllegalArgumentException("ViewPager can't be null!");
+            }
+            mViewPager = viewPager;
+            mScrollChildContainer = new SparseArray<>();
+        }
+
+        @Override
+        public boolean canChildScrollUp(NestedScrollLayout parent, View child) {
+            View scrollChild = getCurrentScrollChild();
+            if(scrollChild == null) {
+                return false;
+            }
+
+            return canScrollToStart(scrollChild, orientationOf(parent));
+        }
+
+        @Override
+        public void dispatchFlingVelocity(NestedScrollLayout parent, View child, float velocity) {
+            View scrollChild = getCurrentScrollChild();
+            if(scrollChild == null) {
+                return;
+            }
+
+            helpScrollChildFling(scrollChild, velocity, orientationOf(parent));
+        }
+
+        @Override
+        public View getScrollTarget(NestedScrollLayout parent, View child) {
+            return getCurrentScrollChild();
+        }
+
+        /**
+         * 设置切换页面时的同步策略.
+         */
+        public void setPageSyncPolicy(NestedScrollLayout parent, int policy) {
+            if(policy != PAGE_SYNC_NONE && parent == null) {
+                throw new IllegalArgumentException("NestedScrollLayout can't be null!");
+            }
+            mParent = parent;
+            mPageSyncPolicy = policy;
+            mSelectedPage = mViewPager.getCurrentItem();
+            mPagerScrollState = ViewPager.SCROLL_STATE_IDLE;
+            mPageScrollOffsets.clear();
+            mPageChildStates.clear();
+
+            mViewPager.removeOnPageChangeListener(mPageChangeListener);
+            if(policy != PAGE_SYNC_NONE) {
+                mViewPager.addOnPageChangeListener(mPageChangeListener);
+            }
+        }
+
+        private void onPageChanged(int position) {
+            if(mSelectedPage >= 0) {
+                saveChildState(mSelectedPage);
+            }
+            if(mPageSyncPolicy == PAGE_SYNC_RESTORE_HEADER
+                    && mPagerScrollState == ViewPager.SCROLL_STATE_IDLE) {
+                // 非滑动切换(如setCurrentItem(item, false))时新页面随即整页露出, 直接恢复.
+                if(mSelectedPage >= 0) {
+                    mPageScrollOffsets.put(mSelectedPage, mParent.getCurrentScrollY());
+                }
+                mParent.stopScroll();
+                mParent.scrollTo(mPageScrollOffsets.get(position, 0));
+            }
+            mSelectedPage = position;
+
+            // 非滑动切换(如setCurrentItem)时没有onPageScrolled回调.
+            if(position != mSyncedPage) {
+                mSyncedPage = position;
+                syncPage(position);
+            }
+        }
+
+        /**
+         * 在页面露出之前让其列表与Header状态保持一致,
+         * 否则canChildScrollUp()与Header状态不一致, 下次拖动时会出现跳动.
+         */
+        private void syncPage(int page) {
+            final View scrollChild = getScrollChildForPage(page);
+            if(scrollChild == null) {
+                return;
+            }
+
+            final int headerOffset;
+            if(mPageSyncPolicy == PAGE_SYNC_RESTORE_HEADER) {
+                headerOffset = mPageScrollOffsets.get(page, 0);
+            } else {
+                headerOffset = mParent.getCurrentScrollY();
+            }
+            if(headerOffset < mParent.getHeaderScrollRange()) {
+                scrollToStart(scrollChild, orientationOf(mParent));
+            } else {
+                restoreChildState(page, scrollChild);
+            }
+        }
+
+        /**
+         * 记录页面列表的滚动状态.
+         */
+        private void saveChildState(int page) {
+            final View scrollChild = mScrollChildContainer.get(page);
+            if(scrollChild instanceof RecyclerView && !needsLayout(scrollChild)) {
+                RecyclerView.LayoutManager layoutManager
+                        = ((RecyclerView) scrollChild).getLayoutManager();
+                if(layoutManager != null) {
+                    mPageChildStates.put(page, layoutManager.onSaveInstanceState());
+                }
+            }
+        }
+
+        /**
+         * 页面被重建后, 在其首次布局之前恢复列表的滚动状态, 不会额外触发布局.
+         */
+        private void restoreChildState(int page, View scrollChild) {
+            final Parcelable state = mPageChildStates.get(page);
+            if(state == null || !(scrollChild instanceof RecyclerView) || !needsLayout(scrollChild)) {
+                return;
+            }
+            RecyclerView.LayoutManager layoutManager = ((RecyclerView) scrollChild).getLayoutManager();
+            if(layoutManager != null) {
+                layoutManager.onRestoreInstanceState(state);
+            }
+        }
+
+        /**
+         * 将页面列表滚动到起始位置.
+         * 尚未布局的页面直接在首次布局时定位; 已布局的页面通过滚动偏移完成, 不会触发重新布局.
+         */
+        private static void scrollToStart(View scrollChild, int orientation) {
+            if(scrollChild instanceof RecyclerView) {
+                RecyclerView list = (RecyclerView) scrollChild;
+                RecyclerView.LayoutManager layoutManager = list.getLayoutManager();
+                if(layoutManager == null) {
+                    return;
+                }
+                if(needsLayout(list)) {
+                    if(layoutManager instanceof LinearLayoutManager) {
+                        ((LinearLayoutManager) layoutManager).scrollToPositionWithOffset(0, 0);
+                    } else {
+                        layoutManager.scrollToPosition(0);
+                    }
+                    return;
+                }
+                if(orientation == HORIZONTAL) {
+                    list.scrollBy(-list.computeHorizontalScrollOffset(), 0);
+                } else {
+                    list.scrollBy(0, -list.computeVerticalScrollOffset());
+                }
+                if(canScrollToStart(list, orientation)) {
+                    // 列表项高度不一时滚动偏移只是估算值, 回退为直接定位.
+                    layoutManager.scrollToPosition(0);
+                }
+            } else if(scrollChild instanceof AbsListView) {
+                ((AbsListView) scrollChild).setSelection(0);
+            } else {
+                scrollChild.scrollTo(0, 0);
+            }
+        }
+
+        private static boolean needsLayout(View view) {
+            return !ViewCompat.isLaidOut(view) || view.isLayoutRequested();
+        }
+
+        private View getScrollChildForPage(int page) {
+            View scrollChild = mScrollChildContainer.get(page);
+            if(scrollChild != null && ViewCompat.isAttachedToWindow(scrollChild)) {
+                return scrollChild;
+            }
+
+            // 按页面在ViewPager中的位置找到对应的子View.
+            final int pageWidth = mViewPager.getWidth() + mViewPager.getPageMargin();
+            if(pageWidth <= 0) {
+                return null;
+            }
+            for(int i = 0, count = mViewPager.getChildCount(); i < count; i++) {
+                View child = mViewPager.getChildAt(i);
+                if(((ViewPager.LayoutParams) child.getLayoutParams()).isDecor) {
+                    continue;
+                }
+                if(Math.round((float) child.getLeft() / pageWidth) == page) {
+                    scrollChild = findScrollableView(child);
+                    if(scrollChild != null) {
+                        mScrollChildContainer.put(page, scrollChild);
+                    }
+                    return scrollChild;
+                }
+            }
+            return null;
+        }
+
+        private View findScrollableView(View view) {
+            if(isScrollableView(view)) {
+                return view;
+            }
+            if(view instanceof ViewGroup) {
+                ViewGroup group = (ViewGroup) view;
+                for(int i = 0, count = group.getChildCount(); i < count; i++) {
+                    View target = findScrollableView(group.getChildAt(i));
+                    if(target != null) {
+                        return target;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private View getCurrentScrollChild() {
+            final int currentItem = mViewPager.getCurrentItem();
+            View scrollChild = mScrollChildContainer.get(currentItem);
+
+            if(scrollChild == null || !ViewCompat.isAttachedToWindow(scrollChild)) {
+                scrollChild = findCurrentShownScrollChild(mViewPager);
+                if(scrollChild == null) return null;
+
+                mScrollChildContainer.put(currentItem, scrollChild);
+            }
+
+            return scrollChild;
+        }
+
+        private ViewGroup findCurrentShownScrollChild(ViewGroup parent) {
+            if(parent == null) return null;
+
+            if(isCurrentShownChild(parent) && isScrollableView(parent)) {
+                return parent;
+            }
+
+            for(int i = 0, count = parent.getChildCount(); i < count; i++) {
+                View child = parent.getChildAt(i);
+                if(child instanceof ViewGroup) {
+                    ViewGroup target = findCurrentShownScrollChild((ViewGroup) child);
+                    if(target != null) {
+                        return target;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private boolean isScrollableView(View target) {
+            // 只判断目前通用的可滚动容器,
+            // 自定义可滚动容器可通过实现#OnChildScrollCallback接口辅助解决嵌套滑动问题.
+            return target instanceof AbsListView
+                    || target instanceof RecyclerView
+                    || target instanceof ScrollView
+                    || target instanceof NestedScrollView
+                    || target instanceof WebView;
+        }
+
+        private boolean isCurrentShownChild(View child) {
+            if (child.getGlobalVisibleRect(mTempRect)) {
+                if (mTempRect.width() >= child.getMeasuredWidth()
+                        && mTempRect.height() >= child.getMeasuredHeight()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
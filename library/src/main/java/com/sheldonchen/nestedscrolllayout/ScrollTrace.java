@@ -0,0 +1,121 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.os.Build;
+import android.os.Trace;
+import android.support.v4.os.TraceCompat;
+
+import java.lang.reflect.Method;
+
+/**
+ * NestedScrollLayout的Systrace/Perfetto埋点.
+ * note：
+ *      是否开启只在attach及手势开始时查询一次(需反射), 关闭时每个埋点只是一次静态字段判断.
+ *      API 29起反射公开的Trace#isEnabled()/Trace#setCounter(), 以下版本反射隐藏的isTagEnabled/traceCounter.
+ *      所有调用都在主线程.
+ */
+
+final class ScrollTrace {
+
+    static final String SECTION_INTERCEPT = "NSL#onInterceptTouchEvent";
+    static final String SECTION_MOCK_DOWN = "NSL#dispatchMockDown";
+    static final String SECTION_MEASURE = "NSL#onMeasure";
+    static final String SECTION_LAYOUT = "NSL#onLayout";
+    static final String SECTION_COMPUTE_SCROLL = "NSL#computeScroll";
+    static final String SECTION_DISPATCH_FLING = "NSL#dispatchFlingIfNeed";
+    static final String SECTION_CALLBACK_CAN_SCROLL_UP = "NSL#OnChildScrollCallback.canChildScrollUp";
+    static final String SECTION_CALLBACK_DISPATCH_FLING = "NSL#OnChildScrollCallback.dispatchFlingVelocity";
+
+    static final String COUNTER_SCROLL_Y = "NSL.scrollY";
+    static final String COUNTER_FLING_VELOCITY = "NSL.flingVelocity";
+    static final String COUNTER_SCROLL_STATE = "NSL.scrollState";
+
+    /**
+     * android.os.Trace#TRACE_TAG_APP
+     */
+    private static final long TRACE_TAG_APP = 1L << 12;
+    /**
+     * Build.VERSION_CODES.Q, compileSdkVersion 27中没有该常量.
+     */
+    private static final int API_Q = 29;
+    private static final boolean USE_PUBLIC_API = Build.VERSION.SDK_INT >= API_Q;
+
+    private static boolean sEnabled;
+    /**
+     * 当前未结束的section数量(不论是否开启都计数), 只在没有未结束的section时刷新开关,
+     * 保证同一层级的begin/end看到的开关相同, 成对调用.
+     */
+    private static int sDepth;
+
+    private static Method sIsTagEnabledMethod;
+    private static Method sTraceCounterMethod;
+    private static boolean sReflectionFailed = Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2;
+
+    private ScrollTrace() {
+    }
+
+    /**
+     * 计数器的值需要额外计算时, 先用此判断, 关闭时不做计算.
+     */
+    static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    static void refresh() {
+        if (sDepth == 0) {
+            sEnabled = isTagEnabled();
+        }
+    }
+
+    static void beginSection(String sectionName) {
+        sDepth++;
+        if (sEnabled) {
+            TraceCompat.beginSection(sectionName);
+        }
+    }
+
+    static void endSection() {
+        sDepth--;
+        if (sEnabled) {
+            TraceCompat.endSection();
+        }
+    }
+
+    static void counter(String counterName, int value) {
+        if (!sEnabled || sTraceCounterMethod == null) {
+            return;
+        }
+        try {
+            if (USE_PUBLIC_API) {
+                sTraceCounterMethod.invoke(null, counterName, (long) value);
+            } else {
+                sTraceCounterMethod.invoke(null, TRACE_TAG_APP, counterName, value);
+            }
+        } catch (Exception e) {
+            sTraceCounterMethod = null;
+        }
+    }
+
+    private static boolean isTagEnabled() {
+        if (sReflectionFailed) {
+            return false;
+        }
+        try {
+            if (sIsTagEnabledMethod == null) {
+                if (USE_PUBLIC_API) {
+                    sIsTagEnabledMethod = Trace.class.getMethod("isEnabled");
+                    sTraceCounterMethod = Trace.class.getMethod("setCounter", String.class, long.class);
+                } else {
+                    sIsTagEnabledMethod = Trace.class.getMethod("isTagEnabled", long.class);
+                    sTraceCounterMethod = Trace.class.getMethod("traceCounter"
+                            , long.class, String.class, int.class);
+                }
+            }
+            return USE_PUBLIC_API
+                    ? (Boolean) sIsTagEnabledMethod.invoke(null)
+                    : (Boolean) sIsTagEnabledMethod.invoke(null, TRACE_TAG_APP);
+        } catch (Exception e) {
+            sReflectionFailed = true;
+            return false;
+        }
+    }
+}
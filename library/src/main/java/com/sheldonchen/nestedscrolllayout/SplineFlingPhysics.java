@@ -0,0 +1,77 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.content.Context;
+import android.view.ViewConfiguration;
+import android.view.animation.Interpolator;
+import android.widget.OverScroller;
+
+/**
+ * 基于OverScroller样条曲线的滚动模型(默认), 与RecyclerView、ListView等的fling一致.
+ * 默认摩擦系数为{@link ViewConfiguration#getScrollFriction()}.
+ */
+public class SplineFlingPhysics implements FlingPhysics {
+
+    private final OverScroller mScroller;
+
+    public SplineFlingPhysics(Context context) {
+        this(context, null);
+    }
+
+    /**
+     * @param interpolator 用于{@link #startScroll(int, int, int)}的插值器, 为null时使用默认插值器.
+     */
+    public SplineFlingPhysics(Context context, Interpolator interpolator) {
+        mScroller = new OverScroller(context, interpolator);
+    }
+
+    @Override
+    public void fling(int start, int velocity, int min, int max) {
+        mScroller.fling(0, start, 0, velocity, 0, 0, min, max);
+    }
+
+    @Override
+    public void startScroll(int start, int delta, int duration) {
+        mScroller.startScroll(0, start, 0, delta, duration);
+    }
+
+    @Override
+    public boolean springBack(int start, int min, int max) {
+        return mScroller.springBack(0, start, 0, 0, min, max);
+    }
+
+    @Override
+    public boolean computeScrollOffset() {
+        return mScroller.computeScrollOffset();
+    }
+
+    @Override
+    public int getCurrPosition() {
+        return mScroller.getCurrY();
+    }
+
+    @Override
+    public float getCurrVelocity() {
+        return mScroller.getCurrVelocity();
+    }
+
+    @Override
+    public boolean isFinished() {
+        return mScroller.isFinished();
+    }
+
+    @Override
+    public void abortAnimation() {
+        mScroller.abortAnimation();
+    }
+
+    /**
+     * 摩擦系数为{@link ViewConfiguration#getScrollFriction()}的倍数, 默认为1.
+     */
+    @Override
+    public void setFriction(float friction) {
+        if (friction <= 0) {
+            throw new IllegalArgumentException("Friction must be positive");
+        }
+        mScroller.setFriction(ViewConfiguration.getScrollFriction() * friction);
+    }
+}
@@ -0,0 +1,103 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * FLING_HANDOFF_CONTINUOUS: Header收起后由同一滚动模型继续驱动子View, 速度不中断.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class FlingHandoffTest {
+
+    private static final long FRAME_INTERVAL_MS = TestLayouts.FRAME_INTERVAL_MS;
+    private static final int HEADER_HEIGHT = TestLayouts.HEADER_HEIGHT;
+    private static final int ROW_HEIGHT = 200;
+
+    private NestedScrollLayout mLayout;
+    private RecyclerView mRecyclerView;
+    private FlingPhysics mPhysics;
+
+    @Before
+    public void setUp() throws Exception {
+        final Activity activity = Robolectric.setupActivity(Activity.class);
+        mRecyclerView = new RecyclerView(activity);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        mRecyclerView.setAdapter(new RowAdapter());
+
+        mLayout = TestLayouts.create(activity, HEADER_HEIGHT, mRecyclerView);
+        mPhysics = new DecayFlingPhysics(activity);
+        mLayout.setFlingPhysics(mPhysics);
+        mLayout.setFlingHandoff(NestedScrollLayout.FLING_HANDOFF_CONTINUOUS);
+        activity.setContentView(mLayout);
+        TestLayouts.layoutFrame(mLayout);
+    }
+
+    @Test
+    public void fling_continuesIntoChildAlongSameCurve() throws Exception {
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1500);
+        for (int i = 1; i <= 4; i++) {
+            touch(downTime, downTime + i * FRAME_INTERVAL_MS, MotionEvent.ACTION_MOVE, 1500 - i * 100);
+        }
+        touch(downTime, downTime + 5 * FRAME_INTERVAL_MS, MotionEvent.ACTION_UP, 1100);
+        assertEquals(NestedScrollLayout.SCROLL_STATE_FLINGING, mLayout.getScrollState());
+        assertTrue(mLayout.getCurrentScrollY() < HEADER_HEIGHT);
+
+        // 每一帧Header与列表的总位移都等于滚动模型的位置, 收起Header前后没有速度突变.
+        int frames = 0;
+        while (!mLayout.isIdle() && frames++ < 300) {
+            Robolectric.getForegroundThreadScheduler().advanceBy(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            mLayout.computeScroll();
+            assertEquals(mPhysics.getCurrPosition()
+                    , mLayout.getCurrentScrollY() + mRecyclerView.computeVerticalScrollOffset());
+        }
+
+        assertTrue(mLayout.isIdle());
+        assertEquals(HEADER_HEIGHT, mLayout.getCurrentScrollY());
+        assertTrue(mRecyclerView.computeVerticalScrollOffset() > 0);
+    }
+
+    private void touch(long downTime, long eventTime, int action, float y) {
+        TestLayouts.touch(mLayout, downTime, eventTime, action, TestLayouts.WIDTH / 2, y);
+    }
+
+    private static class RowAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final View row = new View(parent.getContext());
+            row.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+            return new RecyclerView.ViewHolder(row) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return 100;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * FlingPhysics各实现的fling计算.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class FlingPhysicsTest {
+
+    private static final long FRAME_INTERVAL_MS = TestLayouts.FRAME_INTERVAL_MS;
+    private static final int VELOCITY = 3000;
+    private static final int RANGE = 100000;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() throws Exception {
+        mContext = RuntimeEnvironment.application;
+    }
+
+    @Test
+    public void decay_flingFromMin_movesTowardMax() throws Exception {
+        final FlingPhysics physics = new DecayFlingPhysics(mContext);
+        physics.fling(0, VELOCITY, 0, RANGE);
+
+        assertTrue(nextFrame(physics));
+        assertTrue(physics.getCurrPosition() > 0);
+        assertFalse(physics.isFinished());
+    }
+
+    @Test
+    public void decay_flingFromMax_movesTowardMin() throws Exception {
+        final FlingPhysics physics = new DecayFlingPhysics(mContext);
+        physics.fling(RANGE, -VELOCITY, 0, RANGE);
+
+        assertTrue(nextFrame(physics));
+        assertTrue(physics.getCurrPosition() < RANGE);
+        assertFalse(physics.isFinished());
+    }
+
+    @Test
+    public void decay_stopsAtBoundInDirectionOfTravel() throws Exception {
+        final FlingPhysics physics = new DecayFlingPhysics(mContext);
+        physics.fling(0, VELOCITY, 0, 100);
+
+        runToEnd(physics);
+
+        assertTrue(physics.isFinished());
+        assertEquals(100, physics.getCurrPosition());
+    }
+
+    @Test
+    public void spline_unitFrictionMatchesDefault() throws Exception {
+        final FlingPhysics unit = new SplineFlingPhysics(mContext);
+        unit.setFriction(1.F);
+
+        assertEquals(flingDistance(new SplineFlingPhysics(mContext)), flingDistance(unit));
+    }
+
+    @Test
+    public void decay_unitFrictionMatchesDefault() throws Exception {
+        final FlingPhysics unit = new DecayFlingPhysics(mContext);
+        unit.setFriction(1.F);
+
+        assertEquals(flingDistance(new DecayFlingPhysics(mContext)), flingDistance(unit));
+    }
+
+    @Test
+    public void higherFriction_shortensFling() throws Exception {
+        final FlingPhysics spline = new SplineFlingPhysics(mContext);
+        spline.setFriction(2.F);
+        final FlingPhysics decay = new DecayFlingPhysics(mContext);
+        decay.setFriction(2.F);
+
+        assertTrue(flingDistance(spline) < flingDistance(new SplineFlingPhysics(mContext)));
+        assertTrue(flingDistance(decay) < flingDistance(new DecayFlingPhysics(mContext)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void spline_nonPositiveFriction_throws() throws Exception {
+        new SplineFlingPhysics(mContext).setFriction(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decay_nonPositiveFriction_throws() throws Exception {
+        new DecayFlingPhysics(mContext).setFriction(0);
+    }
+
+    private static int flingDistance(FlingPhysics physics) {
+        physics.fling(0, VELOCITY, 0, RANGE);
+        runToEnd(physics);
+        return physics.getCurrPosition();
+    }
+
+    private static boolean nextFrame(FlingPhysics physics) {
+        Robolectric.getForegroundThreadScheduler().advanceBy(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        return physics.computeScrollOffset();
+    }
+
+    private static void runToEnd(FlingPhysics physics) {
+        for (int frame = 0; frame < 1000 && !physics.isFinished(); frame++) {
+            nextFrame(physics);
+        }
+    }
+}
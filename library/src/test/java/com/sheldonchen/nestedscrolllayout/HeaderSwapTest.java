@@ -0,0 +1,101 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * 占位View被替换为实际Header/嵌套滚动子View后保留滚动位置.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class HeaderSwapTest {
+
+    private static final int PLACEHOLDER_HEIGHT = TestLayouts.HEADER_HEIGHT;
+
+    private Context mContext;
+    private NestedScrollLayout mLayout;
+    private View mPlaceholder;
+    private View mScrollChild;
+
+    @Before
+    public void setUp() throws Exception {
+        mContext = RuntimeEnvironment.application;
+        mScrollChild = new View(mContext);
+        mLayout = TestLayouts.create(mContext, PLACEHOLDER_HEIGHT, mScrollChild);
+        mPlaceholder = mLayout.getChildAt(0);
+        layoutFrame();
+    }
+
+    @Test
+    public void swapHeader_keepsScrollPosition() throws Exception {
+        mLayout.scrollTo(300);
+
+        final View header = header(800);
+        mLayout.setHeaderView(header);
+        layoutFrame();
+
+        assertSame(header, mLayout.getChildAt(0));
+        assertNull(mPlaceholder.getParent());
+        assertEquals(300, mLayout.getCurrentScrollY());
+        assertEquals(-300, header.getTop());
+        assertEquals(500, mScrollChild.getTop());
+    }
+
+    @Test
+    public void swapHeader_clampsToNewScrollRange() throws Exception {
+        mLayout.scrollTo(PLACEHOLDER_HEIGHT);
+
+        mLayout.setHeaderView(header(400));
+        layoutFrame();
+
+        assertEquals(400, mLayout.getCurrentScrollY());
+        assertEquals(0, mScrollChild.getTop());
+    }
+
+    @Test
+    public void swapTallerHeader_staysCollapsed() throws Exception {
+        mLayout.scrollTo(PLACEHOLDER_HEIGHT);
+
+        final View header = header(800);
+        mLayout.setHeaderView(header);
+        layoutFrame();
+
+        assertEquals(800, mLayout.getCurrentScrollY());
+        assertEquals(-800, header.getTop());
+        assertEquals(0, mScrollChild.getTop());
+    }
+
+    @Test
+    public void swapScrollChild_keepsScrollPosition() throws Exception {
+        mLayout.scrollTo(200);
+
+        final View scrollChild = new View(mContext);
+        mLayout.setScrollChildView(scrollChild);
+        layoutFrame();
+
+        assertSame(mLayout, scrollChild.getParent());
+        assertNull(mScrollChild.getParent());
+        assertEquals(200, mLayout.getCurrentScrollY());
+        assertEquals(TestLayouts.HEIGHT, scrollChild.getHeight());
+    }
+
+    private View header(int height) {
+        final View header = new View(mContext);
+        header.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, height));
+        return header;
+    }
+
+    private void layoutFrame() {
+        TestLayouts.layoutFrame(mLayout);
+    }
+}
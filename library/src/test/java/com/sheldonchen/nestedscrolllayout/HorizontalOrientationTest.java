@@ -0,0 +1,153 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * android:orientation="horizontal"时Header位于左侧, 拖动及fling沿X轴进行.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class HorizontalOrientationTest {
+
+    private static final int WIDTH = TestLayouts.WIDTH;
+    private static final int HEIGHT = TestLayouts.HEIGHT;
+    private static final long FRAME_INTERVAL_MS = TestLayouts.FRAME_INTERVAL_MS;
+    private static final int HEADER_WIDTH = 600;
+    private static final int COLUMN_WIDTH = 200;
+
+    private NestedScrollLayout mLayout;
+    private View mHeader;
+    private RecyclerView mRecyclerView;
+
+    @Before
+    public void setUp() throws Exception {
+        final Activity activity = Robolectric.setupActivity(Activity.class);
+        mHeader = new View(activity);
+        mRecyclerView = new RecyclerView(activity);
+        mRecyclerView.setLayoutManager(
+                new LinearLayoutManager(activity, LinearLayoutManager.HORIZONTAL, false));
+        mRecyclerView.setAdapter(new ColumnAdapter());
+
+        mLayout = new NestedScrollLayout(activity);
+        mLayout.setOrientation(NestedScrollLayout.HORIZONTAL);
+        mLayout.addView(mHeader, new ViewGroup.LayoutParams(HEADER_WIDTH
+                , ViewGroup.LayoutParams.MATCH_PARENT));
+        mLayout.addView(mRecyclerView, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                , ViewGroup.LayoutParams.MATCH_PARENT));
+        activity.setContentView(mLayout);
+        TestLayouts.layoutFrame(mLayout);
+    }
+
+    @Test
+    public void layout_placesHeaderBeforeScrollChild() throws Exception {
+        assertEquals(0, mHeader.getLeft());
+        assertEquals(HEADER_WIDTH, mRecyclerView.getLeft());
+        assertEquals(WIDTH, mRecyclerView.getWidth());
+        assertEquals(HEIGHT, mRecyclerView.getHeight());
+    }
+
+    @Test
+    public void horizontalDrag_collapsesHeaderAlongX() throws Exception {
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1000, HEIGHT / 2);
+        for (int i = 1; i <= 3; i++) {
+            touch(downTime, downTime + i * FRAME_INTERVAL_MS, MotionEvent.ACTION_MOVE
+                    , 1000 - i * 100, HEIGHT / 2);
+        }
+        // 停顿后松手, 没有fling.
+        touch(downTime, downTime + 1000, MotionEvent.ACTION_UP, 700, HEIGHT / 2);
+
+        final int scroll = mLayout.getCurrentScrollY();
+        assertTrue(scroll > 0 && scroll < HEADER_WIDTH);
+        assertEquals(-scroll, mHeader.getLeft());
+        assertEquals(HEADER_WIDTH - scroll, mRecyclerView.getLeft());
+        assertEquals(0, mHeader.getTop());
+        assertEquals(0, mRecyclerView.getTop());
+        assertEquals(0, mRecyclerView.computeHorizontalScrollOffset());
+    }
+
+    @Test
+    public void verticalDrag_doesNotMoveHeader() throws Exception {
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1000, 1500);
+        for (int i = 1; i <= 3; i++) {
+            touch(downTime, downTime + i * FRAME_INTERVAL_MS, MotionEvent.ACTION_MOVE
+                    , 1000, 1500 - i * 100);
+        }
+        touch(downTime, downTime + 1000, MotionEvent.ACTION_UP, 1000, 1200);
+
+        assertEquals(0, mLayout.getCurrentScrollY());
+        assertEquals(0, mHeader.getLeft());
+        assertEquals(HEADER_WIDTH, mRecyclerView.getLeft());
+    }
+
+    @Test
+    public void horizontalFling_collapsesHeaderThenScrollsChild() throws Exception {
+        mLayout.setFlingHandoff(NestedScrollLayout.FLING_HANDOFF_CONTINUOUS);
+
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1000, HEIGHT / 2);
+        for (int i = 1; i <= 4; i++) {
+            touch(downTime, downTime + i * FRAME_INTERVAL_MS, MotionEvent.ACTION_MOVE
+                    , 1000 - i * 100, HEIGHT / 2);
+        }
+        touch(downTime, downTime + 5 * FRAME_INTERVAL_MS, MotionEvent.ACTION_UP, 600, HEIGHT / 2);
+        assertEquals(NestedScrollLayout.SCROLL_STATE_FLINGING, mLayout.getScrollState());
+
+        for (int frame = 0; frame < 300 && !mLayout.isIdle(); frame++) {
+            Robolectric.getForegroundThreadScheduler().advanceBy(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            mLayout.computeScroll();
+        }
+
+        assertTrue(mLayout.isIdle());
+        assertEquals(HEADER_WIDTH, mLayout.getCurrentScrollY());
+        assertEquals(-HEADER_WIDTH, mHeader.getLeft());
+        assertEquals(0, mRecyclerView.getLeft());
+        assertEquals(0, mRecyclerView.getTop());
+        assertTrue(mRecyclerView.computeHorizontalScrollOffset() > 0);
+    }
+
+    private void touch(long downTime, long eventTime, int action, float x, float y) {
+        TestLayouts.touch(mLayout, downTime, eventTime, action, x, y);
+    }
+
+    private static class ColumnAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final View column = new View(parent.getContext());
+            column.setLayoutParams(new RecyclerView.LayoutParams(
+                    COLUMN_WIDTH, ViewGroup.LayoutParams.MATCH_PARENT));
+            return new RecyclerView.ViewHolder(column) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return 100;
+        }
+    }
+}
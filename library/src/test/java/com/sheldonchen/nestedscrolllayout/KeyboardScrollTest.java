@@ -0,0 +1,80 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.content.Context;
+import android.view.KeyEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * 键盘翻页与拖动一致, 先收起/展开Header.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class KeyboardScrollTest {
+
+    private static final int HEADER_HEIGHT = TestLayouts.HEADER_HEIGHT;
+
+    private NestedScrollLayout mLayout;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = RuntimeEnvironment.application;
+        mLayout = TestLayouts.create(context);
+        TestLayouts.layoutFrame(mLayout);
+    }
+
+    @Test
+    public void pageDown_collapsesHeader() throws Exception {
+        assertTrue(pressKey(KeyEvent.KEYCODE_PAGE_DOWN));
+        assertEquals(HEADER_HEIGHT, mLayout.getCurrentScrollY());
+    }
+
+    @Test
+    public void arrowKeys_scrollHeaderByStep() throws Exception {
+        assertTrue(pressKey(KeyEvent.KEYCODE_DPAD_DOWN));
+        final int step = mLayout.getCurrentScrollY();
+        assertTrue(step > 0 && step < HEADER_HEIGHT);
+
+        assertTrue(pressKey(KeyEvent.KEYCODE_DPAD_UP));
+        assertEquals(0, mLayout.getCurrentScrollY());
+    }
+
+    @Test
+    public void homeAndEnd_scrollToEdges() throws Exception {
+        assertTrue(pressKey(KeyEvent.KEYCODE_MOVE_END));
+        assertEquals(HEADER_HEIGHT, mLayout.getCurrentScrollY());
+
+        assertTrue(pressKey(KeyEvent.KEYCODE_MOVE_HOME));
+        assertEquals(0, mLayout.getCurrentScrollY());
+    }
+
+    @Test
+    public void keysAtEdges_areNotConsumed() throws Exception {
+        // 已完全展开且子View不能再滚动, 按键应继续分发(如移动焦点).
+        assertFalse(pressKey(KeyEvent.KEYCODE_DPAD_UP));
+        assertFalse(pressKey(KeyEvent.KEYCODE_PAGE_UP));
+        assertFalse(pressKey(KeyEvent.KEYCODE_MOVE_HOME));
+
+        assertTrue(pressKey(KeyEvent.KEYCODE_MOVE_END));
+        assertFalse(pressKey(KeyEvent.KEYCODE_DPAD_DOWN));
+        assertFalse(pressKey(KeyEvent.KEYCODE_PAGE_DOWN));
+        assertEquals(HEADER_HEIGHT, mLayout.getCurrentScrollY());
+    }
+
+    @Test
+    public void crossAxisArrow_isIgnored() throws Exception {
+        assertFalse(pressKey(KeyEvent.KEYCODE_DPAD_RIGHT));
+        assertEquals(0, mLayout.getCurrentScrollY());
+    }
+
+    private boolean pressKey(int keyCode) {
+        return mLayout.dispatchKeyEvent(new KeyEvent(KeyEvent.ACTION_DOWN, keyCode));
+    }
+}
@@ -0,0 +1,144 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.MotionEvent;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * 同一外层布局下有多个内层布局时, 每次手势作用于手指下方的内层布局.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class MultipleInnerLayoutTest {
+
+    private static final int INNER_HEADER_HEIGHT = 300;
+    private static final int ROW_HEIGHT = 800;
+    private static final float LEFT_X = TestLayouts.WIDTH / 4;
+    private static final float RIGHT_X = TestLayouts.WIDTH * 3 / 4;
+
+    private Activity mActivity;
+    private NestedScrollLayout mOuter;
+    private NestedScrollLayout mLeft;
+    private NestedScrollLayout mRight;
+    private LinearLayout mPages;
+
+    @Before
+    public void setUp() throws Exception {
+        final Activity activity = Robolectric.setupActivity(Activity.class);
+        mActivity = activity;
+        mLeft = TestLayouts.create(activity, INNER_HEADER_HEIGHT, null);
+        mRight = TestLayouts.create(activity, INNER_HEADER_HEIGHT, null);
+
+        mPages = new LinearLayout(activity);
+        mPages.setOrientation(LinearLayout.HORIZONTAL);
+        mPages.addView(mLeft, new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.MATCH_PARENT, 1));
+        mPages.addView(mRight, new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.MATCH_PARENT, 1));
+
+        mOuter = TestLayouts.create(activity, TestLayouts.HEADER_HEIGHT, mPages);
+        activity.setContentView(mOuter);
+        TestLayouts.layoutFrame(mOuter);
+    }
+
+    @Test
+    public void drag_collapsesInnerLayoutUnderFinger() throws Exception {
+        drag(RIGHT_X, 800);
+        assertEquals(TestLayouts.HEADER_HEIGHT, mOuter.getCurrentScrollY());
+        assertTrue(mRight.getCurrentScrollY() > 0);
+        assertEquals(0, mLeft.getCurrentScrollY());
+
+        final int rightScrollY = mRight.getCurrentScrollY();
+        drag(LEFT_X, 200);
+        assertTrue(mLeft.getCurrentScrollY() > 0);
+        assertEquals(rightScrollY, mRight.getCurrentScrollY());
+    }
+
+    @Test
+    public void detachSelectedInnerLayout_relinksRemaining() throws Exception {
+        drag(RIGHT_X, 200);
+        mPages.removeView(mRight);
+        TestLayouts.layoutFrame(mOuter);
+
+        drag(LEFT_X, 800);
+        assertEquals(TestLayouts.HEADER_HEIGHT, mOuter.getCurrentScrollY());
+        assertTrue(mLeft.getCurrentScrollY() > 0);
+    }
+
+    @Test
+    public void dragDown_scrollsOuterListBackBeforeExpandingHeaders() throws Exception {
+        final RecyclerView list = new RecyclerView(mActivity);
+        list.setLayoutManager(new LinearLayoutManager(mActivity));
+        list.setAdapter(new RowAdapter());
+        mOuter = TestLayouts.create(mActivity, TestLayouts.HEADER_HEIGHT, list);
+        mActivity.setContentView(mOuter);
+        TestLayouts.layoutFrame(mOuter);
+
+        // Header完全收起, 列表滚动到中间.
+        mOuter.scrollTo(TestLayouts.HEADER_HEIGHT);
+        list.scrollBy(0, 3 * ROW_HEIGHT);
+        TestLayouts.layoutFrame(mOuter);
+        final int listOffset = list.computeVerticalScrollOffset();
+        assertTrue(listOffset > 0);
+
+        drag(LEFT_X, -400);
+
+        assertTrue(list.computeVerticalScrollOffset() < listOffset);
+        assertEquals(TestLayouts.HEADER_HEIGHT, mOuter.getCurrentScrollY());
+        for (int i = 0; i < list.getChildCount(); i++) {
+            assertEquals(0, ((NestedScrollLayout) list.getChildAt(i)).getCurrentScrollY());
+        }
+    }
+
+    /**
+     * 拖动distance: > 0时从屏幕下方向上拖动(收起Header), < 0时从屏幕上方向下拖动.
+     */
+    private void drag(float x, int distance) {
+        final int steps = 10;
+        final float startY = distance > 0 ? TestLayouts.HEIGHT - 100 : 100;
+        final long downTime = SystemClock.uptimeMillis();
+        TestLayouts.touch(mOuter, downTime, downTime, MotionEvent.ACTION_DOWN, x, startY);
+        for (int i = 1; i <= steps; i++) {
+            TestLayouts.touch(mOuter, downTime, downTime + i * TestLayouts.FRAME_INTERVAL_MS
+                    , MotionEvent.ACTION_MOVE, x, startY - distance * i / steps);
+        }
+        // 停顿后松手, 没有fling.
+        TestLayouts.touch(mOuter, downTime, downTime + 1000, MotionEvent.ACTION_UP
+                , x, startY - distance);
+    }
+
+    /**
+     * 每行都是一个内层布局.
+     */
+    private static class RowAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            final NestedScrollLayout row = TestLayouts.create(parent.getContext(), INNER_HEADER_HEIGHT, null);
+            row.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+            return new RecyclerView.ViewHolder(row) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            ((NestedScrollLayout) holder.itemView).resetScrollState();
+        }
+
+        @Override
+        public int getItemCount() {
+            return 20;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * 首次布局前设置的刷新状态在布局完成后生效.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class PendingRefreshTest {
+
+    private static final int REFRESH_HEIGHT = 100;
+
+    private NestedScrollLayout mLayout;
+    private View mRefreshView;
+
+    @Before
+    public void setUp() throws Exception {
+        final Activity activity = Robolectric.setupActivity(Activity.class);
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.refresh_header, "@android:id/progress")
+                .build();
+        mLayout = new NestedScrollLayout(activity, attrs);
+
+        mRefreshView = new View(activity);
+        mRefreshView.setId(android.R.id.progress);
+        mLayout.addView(mRefreshView
+                , new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, REFRESH_HEIGHT));
+        mLayout.addView(new View(activity), new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, TestLayouts.HEADER_HEIGHT));
+        mLayout.addView(new View(activity), new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+    }
+
+    @Test
+    public void setRefreshingBeforeFirstLayout_appliedAfterLayout() throws Exception {
+        mLayout.setRefreshing(true);
+        TestLayouts.layoutFrame(mLayout);
+
+        assertTrue(mLayout.isRefreshing());
+        assertEquals(-REFRESH_HEIGHT, mLayout.getCurrentScrollY());
+        assertEquals(0, mRefreshView.getTop());
+    }
+
+    @Test
+    public void clearedBeforeFirstLayout_staysCollapsed() throws Exception {
+        mLayout.setRefreshing(true);
+        mLayout.setRefreshing(false);
+        TestLayouts.layoutFrame(mLayout);
+
+        assertFalse(mLayout.isRefreshing());
+        assertEquals(0, mLayout.getCurrentScrollY());
+    }
+}
@@ -0,0 +1,106 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 下拉超过触发距离后松手才刷新, 手势被取消时只收回.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class RefreshGestureTest {
+
+    private static final int REFRESH_HEIGHT = 100;
+    private static final float X = TestLayouts.WIDTH / 2;
+    private static final float START_Y = 100;
+    /**
+     * 下拉阻尼为1/2, 拉出的距离远超过触发距离.
+     */
+    private static final int PULL_DISTANCE = 6 * REFRESH_HEIGHT;
+
+    private NestedScrollLayout mLayout;
+    private int mRefreshCount;
+
+    @Before
+    public void setUp() throws Exception {
+        final Activity activity = Robolectric.setupActivity(Activity.class);
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.refresh_header, "@android:id/progress")
+                .build();
+        mLayout = new NestedScrollLayout(activity, attrs);
+
+        final View refreshView = new View(activity);
+        refreshView.setId(android.R.id.progress);
+        mLayout.addView(refreshView
+                , new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, REFRESH_HEIGHT));
+        mLayout.addView(new View(activity), new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, TestLayouts.HEADER_HEIGHT));
+        mLayout.addView(new View(activity), new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        activity.setContentView(mLayout);
+        TestLayouts.layoutFrame(mLayout);
+
+        mLayout.setOnRefreshListener(new NestedScrollLayout.OnRefreshListener() {
+            @Override
+            public void onRefresh(NestedScrollLayout layout) {
+                mRefreshCount++;
+            }
+        });
+    }
+
+    @Test
+    public void releaseAfterOverPull_refreshes() throws Exception {
+        final long downTime = overPull();
+        TestLayouts.touch(mLayout, downTime, downTime + 1000, MotionEvent.ACTION_UP, X, START_Y + PULL_DISTANCE);
+        settle();
+
+        assertEquals(1, mRefreshCount);
+        assertTrue(mLayout.isRefreshing());
+        assertEquals(-REFRESH_HEIGHT, mLayout.getCurrentScrollY());
+    }
+
+    @Test
+    public void cancelAfterOverPull_doesNotRefresh() throws Exception {
+        final long downTime = overPull();
+        TestLayouts.touch(mLayout, downTime, downTime + 1000, MotionEvent.ACTION_CANCEL, X, START_Y + PULL_DISTANCE);
+        settle();
+
+        assertEquals(0, mRefreshCount);
+        assertFalse(mLayout.isRefreshing());
+        assertEquals(0, mLayout.getCurrentScrollY());
+    }
+
+    private long overPull() {
+        final long downTime = SystemClock.uptimeMillis();
+        TestLayouts.touch(mLayout, downTime, downTime, MotionEvent.ACTION_DOWN, X, START_Y);
+        for (int i = 1; i <= 10; i++) {
+            TestLayouts.touch(mLayout, downTime, downTime + i * TestLayouts.FRAME_INTERVAL_MS
+                    , MotionEvent.ACTION_MOVE, X, START_Y + PULL_DISTANCE * i / 10);
+        }
+        assertTrue(mLayout.getCurrentScrollY() < -REFRESH_HEIGHT);
+        return downTime;
+    }
+
+    private void settle() {
+        for (int frame = 0; frame < 100 && !mLayout.isIdle(); frame++) {
+            Robolectric.getForegroundThreadScheduler().advanceBy(
+                    TestLayouts.FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            mLayout.computeScroll();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * 嵌套滚动子View的大小与可见区域一致, RecyclerView不会绑定不可见的Item.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ScrollChildViewportTest {
+
+    private static final int HEIGHT = TestLayouts.HEIGHT;
+    private static final int HEADER_HEIGHT = TestLayouts.HEADER_HEIGHT;
+    private static final int ROW_HEIGHT = 120;
+    private static final int PADDING_TOP = 60;
+
+    private NestedScrollLayout mLayout;
+    private RecyclerView mRecyclerView;
+    private CountingAdapter mAdapter;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = RuntimeEnvironment.application;
+
+        mRecyclerView = new RecyclerView(context);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(context));
+        mRecyclerView.setHasFixedSize(true);
+        mAdapter = new CountingAdapter();
+        mRecyclerView.setAdapter(mAdapter);
+
+        mLayout = TestLayouts.create(context, HEADER_HEIGHT, mRecyclerView);
+        mLayout.setPadding(0, PADDING_TOP, 0, 0);
+    }
+
+    @Test
+    public void measuredSizeMatchesLaidOutBounds() throws Exception {
+        layoutFrame();
+
+        assertEquals(HEIGHT - PADDING_TOP, mRecyclerView.getMeasuredHeight());
+        assertEquals(mRecyclerView.getMeasuredHeight(), mRecyclerView.getHeight());
+        assertEquals(PADDING_TOP + HEADER_HEIGHT, mRecyclerView.getTop());
+    }
+
+    @Test
+    public void partiallyCollapsed_measuresScrollChildToViewport() throws Exception {
+        final int pinnedSize = 2 * ROW_HEIGHT;
+        final int viewportHeight = HEIGHT - PADDING_TOP - pinnedSize;
+        mLayout.setHeaderPinnedSize(pinnedSize);
+        layoutFrame();
+        assertEquals(rowsFor(viewportHeight), mAdapter.bindCount);
+
+        // Header收起一半后重新measure/layout: 子View仍按可见区域测量, 这一帧不绑定新的Item.
+        mLayout.scrollTo(HEADER_HEIGHT / 2);
+        mAdapter.bindCount = 0;
+        mLayout.requestLayout();
+        layoutFrame();
+
+        assertEquals(HEADER_HEIGHT / 2, mLayout.getCurrentScrollY());
+        assertEquals(viewportHeight, mRecyclerView.getMeasuredHeight());
+        assertEquals(viewportHeight, mRecyclerView.getHeight());
+        assertEquals(PADDING_TOP + HEADER_HEIGHT / 2, mRecyclerView.getTop());
+        assertEquals(0, mAdapter.bindCount);
+    }
+
+    @Test
+    public void pinnedRegion_shrinksViewport() throws Exception {
+        final int pinnedSize = 2 * ROW_HEIGHT;
+        mLayout.setHeaderPinnedSize(pinnedSize);
+        layoutFrame();
+
+        assertEquals(HEIGHT - PADDING_TOP - pinnedSize, mRecyclerView.getHeight());
+        assertEquals(rowsFor(HEIGHT - PADDING_TOP - pinnedSize), mAdapter.bindCount);
+
+        // 完全收起时嵌套滚动子View紧贴保留区域.
+        mLayout.scrollTo(HEADER_HEIGHT);
+        assertEquals(HEADER_HEIGHT - pinnedSize, mLayout.getCurrentScrollY());
+        assertEquals(PADDING_TOP + pinnedSize, mRecyclerView.getTop());
+    }
+
+    @Test
+    public void collapsingHeader_doesNotRebindRows() throws Exception {
+        layoutFrame();
+        final int firstFrameBinds = mAdapter.bindCount;
+
+        mLayout.scrollTo(HEADER_HEIGHT / 2);
+        layoutFrame();
+        mLayout.scrollTo(HEADER_HEIGHT);
+        layoutFrame();
+
+        assertEquals(firstFrameBinds, mAdapter.bindCount);
+    }
+
+    private void layoutFrame() {
+        TestLayouts.layoutFrame(mLayout);
+    }
+
+    private static int rowsFor(int viewportHeight) {
+        return (viewportHeight + ROW_HEIGHT - 1) / ROW_HEIGHT;
+    }
+
+    /**
+     * 同demo中MainActivity.InnerAdapter, 固定Item高度.
+     */
+    private static class CountingAdapter extends RecyclerView.Adapter<CountingAdapter.Holder> {
+        int bindCount;
+
+        @NonNull
+        @Override
+        public Holder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            TextView tv = new TextView(parent.getContext());
+            tv.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+            return new Holder(tv);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull Holder holder, int position) {
+            bindCount++;
+            holder.tv.setText("item: " + position);
+        }
+
+        @Override
+        public int getItemCount() {
+            return 50;
+        }
+
+        static class Holder extends RecyclerView.ViewHolder {
+            final TextView tv;
+
+            Holder(TextView itemView) {
+                super(itemView);
+                tv = itemView;
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.os.SystemClock;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 滚动状态在每次变化时只通知一次, 并在回到IDLE时执行等待空闲的任务.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ScrollStateTest {
+
+    private static final long FRAME_INTERVAL_MS = TestLayouts.FRAME_INTERVAL_MS;
+
+    private NestedScrollLayout mLayout;
+    private final List<int[]> mTransitions = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        Activity activity = Robolectric.setupActivity(Activity.class);
+        mLayout = TestLayouts.create(activity);
+        activity.setContentView(mLayout);
+        layoutFrame();
+
+        mLayout.addOnScrollStateChangeListener(new NestedScrollLayout.OnScrollStateChangeListener() {
+            @Override
+            public void onScrollStateChanged(NestedScrollLayout layout, int oldState, int newState) {
+                mTransitions.add(new int[]{oldState, newState});
+            }
+        });
+    }
+
+    @Test
+    public void slowDrag_dragsThenIdles() throws Exception {
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1000);
+        touch(downTime, downTime + 16, MotionEvent.ACTION_MOVE, 900);
+        touch(downTime, downTime + 32, MotionEvent.ACTION_MOVE, 800);
+        assertEquals(NestedScrollLayout.SCROLL_STATE_DRAGGING, mLayout.getScrollState());
+
+        // 停顿后松手, 没有fling.
+        touch(downTime, downTime + 1000, MotionEvent.ACTION_UP, 800);
+
+        assertTrue(mLayout.isIdle());
+        assertTrue(mLayout.getCurrentScrollY() > 0);
+        assertEquals(2, mTransitions.size());
+        assertTransition(0, NestedScrollLayout.SCROLL_STATE_IDLE, NestedScrollLayout.SCROLL_STATE_DRAGGING);
+        assertTransition(1, NestedScrollLayout.SCROLL_STATE_DRAGGING, NestedScrollLayout.SCROLL_STATE_IDLE);
+    }
+
+    @Test
+    public void runWhenIdle_deferredUntilIdle() throws Exception {
+        final int[] runs = new int[1];
+        final Runnable action = new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+            }
+        };
+
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1000);
+        touch(downTime, downTime + 16, MotionEvent.ACTION_MOVE, 900);
+        mLayout.runWhenIdle(action);
+        assertEquals(0, runs[0]);
+
+        touch(downTime, downTime + 1000, MotionEvent.ACTION_UP, 900);
+        assertEquals(1, runs[0]);
+
+        // 空闲时立即执行.
+        mLayout.runWhenIdle(action);
+        assertEquals(2, runs[0]);
+    }
+
+    @Test
+    public void fling_endsIdleAfterEachStateOnce() throws Exception {
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1500);
+        for (int i = 1; i <= 4; i++) {
+            touch(downTime, downTime + i * FRAME_INTERVAL_MS, MotionEvent.ACTION_MOVE, 1500 - i * 100);
+        }
+        touch(downTime, downTime + 5 * FRAME_INTERVAL_MS, MotionEvent.ACTION_UP, 1100);
+        assertEquals(NestedScrollLayout.SCROLL_STATE_FLINGING, mLayout.getScrollState());
+
+        for (int frame = 0; frame < 300 && !mLayout.isIdle(); frame++) {
+            Robolectric.getForegroundThreadScheduler().advanceBy(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            mLayout.computeScroll();
+        }
+
+        assertTrue(mLayout.isIdle());
+        for (int i = 0; i < mTransitions.size(); i++) {
+            final int[] transition = mTransitions.get(i);
+            assertNotEquals(transition[0], transition[1]);
+            if (i > 0) {
+                assertEquals(mTransitions.get(i - 1)[1], transition[0]);
+            }
+        }
+        assertTransition(1, NestedScrollLayout.SCROLL_STATE_DRAGGING, NestedScrollLayout.SCROLL_STATE_FLINGING);
+    }
+
+    @Test
+    public void wheel_settlesUntilInputFinished() throws Exception {
+        final int[] runs = new int[1];
+        final long eventTime = SystemClock.uptimeMillis();
+        wheel(eventTime, -1);
+        assertEquals(NestedScrollLayout.SCROLL_STATE_SETTLING, mLayout.getScrollState());
+
+        mLayout.runWhenIdle(new Runnable() {
+            @Override
+            public void run() {
+                runs[0]++;
+            }
+        });
+        assertEquals(0, runs[0]);
+
+        for (int frame = 0; frame < 10 && !mLayout.isIdle(); frame++) {
+            Robolectric.getForegroundThreadScheduler().advanceBy(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(mLayout.isIdle());
+        assertTrue(mLayout.getCurrentScrollY() > 0);
+        assertEquals(1, runs[0]);
+        assertEquals(2, mTransitions.size());
+        assertTransition(0, NestedScrollLayout.SCROLL_STATE_IDLE, NestedScrollLayout.SCROLL_STATE_SETTLING);
+        assertTransition(1, NestedScrollLayout.SCROLL_STATE_SETTLING, NestedScrollLayout.SCROLL_STATE_IDLE);
+    }
+
+    @Test
+    public void resetScrollState_returnsToIdle() throws Exception {
+        final long downTime = SystemClock.uptimeMillis();
+        touch(downTime, downTime, MotionEvent.ACTION_DOWN, 1000);
+        touch(downTime, downTime + 16, MotionEvent.ACTION_MOVE, 900);
+
+        mLayout.resetScrollState();
+
+        assertTrue(mLayout.isIdle());
+        assertEquals(0, mLayout.getCurrentScrollY());
+    }
+
+    private void touch(long downTime, long eventTime, int action, float y) {
+        TestLayouts.touch(mLayout, downTime, eventTime, action, TestLayouts.WIDTH / 2, y);
+    }
+
+    /**
+     * 鼠标滚轮事件, vscroll < 0表示向下滚动(收起Header).
+     */
+    private void wheel(long eventTime, float vscroll) {
+        final MotionEvent.PointerProperties properties = new MotionEvent.PointerProperties();
+        properties.id = 0;
+        properties.toolType = MotionEvent.TOOL_TYPE_MOUSE;
+        final MotionEvent.PointerCoords coords = new MotionEvent.PointerCoords();
+        coords.x = TestLayouts.WIDTH / 2;
+        coords.y = TestLayouts.HEIGHT / 2;
+        coords.setAxisValue(MotionEvent.AXIS_VSCROLL, vscroll);
+
+        final MotionEvent event = MotionEvent.obtain(eventTime, eventTime, MotionEvent.ACTION_SCROLL, 1
+                , new MotionEvent.PointerProperties[]{properties}, new MotionEvent.PointerCoords[]{coords}
+                , 0, 0, 1, 1, 0, 0, InputDevice.SOURCE_MOUSE, 0);
+        mLayout.dispatchGenericMotionEvent(event);
+        event.recycle();
+    }
+
+    private void assertTransition(int index, int oldState, int newState) {
+        assertEquals(oldState, mTransitions.get(index)[0]);
+        assertEquals(newState, mTransitions.get(index)[1]);
+    }
+
+    private void layoutFrame() {
+        TestLayouts.layoutFrame(mLayout);
+    }
+}
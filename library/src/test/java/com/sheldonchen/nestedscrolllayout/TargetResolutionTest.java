@@ -0,0 +1,86 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * Header及嵌套滚动子View各自按id或子View顺序确定.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class TargetResolutionTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final int HEADER_HEIGHT = 600;
+
+    private Activity mActivity;
+
+    @Before
+    public void setUp() throws Exception {
+        mActivity = Robolectric.setupActivity(Activity.class);
+    }
+
+    @Test
+    public void scrollChildIdOnly_headerIsFirstOtherChild() throws Exception {
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.scroll_child, "@android:id/list")
+                .build();
+        final NestedScrollLayout layout = new NestedScrollLayout(mActivity, attrs);
+
+        final View scrollChild = new View(mActivity);
+        scrollChild.setId(android.R.id.list);
+        final View header = new View(mActivity);
+        layout.addView(scrollChild, matchParent());
+        layout.addView(header, new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, HEADER_HEIGHT));
+        layoutFrame(layout);
+
+        assertEquals(0, header.getTop());
+        assertEquals(HEADER_HEIGHT, scrollChild.getTop());
+    }
+
+    @Test
+    public void refreshViewId_skippedByIndexFallback() throws Exception {
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.refresh_header, "@android:id/progress")
+                .build();
+        final NestedScrollLayout layout = new NestedScrollLayout(mActivity, attrs);
+
+        final View refresh = new View(mActivity);
+        refresh.setId(android.R.id.progress);
+        final View header = new View(mActivity);
+        final View scrollChild = new View(mActivity);
+        layout.addView(refresh, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 100));
+        layout.addView(header, new ViewGroup.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, HEADER_HEIGHT));
+        layout.addView(scrollChild, matchParent());
+        layoutFrame(layout);
+
+        assertEquals(0, header.getTop());
+        assertEquals(HEADER_HEIGHT, scrollChild.getTop());
+        assertEquals(-100, refresh.getTop());
+    }
+
+    private static void layoutFrame(View layout) {
+        layout.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY)
+                , View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        layout.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static ViewGroup.LayoutParams matchParent() {
+        return new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                , ViewGroup.LayoutParams.MATCH_PARENT);
+    }
+}
@@ -0,0 +1,53 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * 单元测试共用的布局尺寸及构建、布局、触摸工具方法.
+ */
+final class TestLayouts {
+
+    static final int WIDTH = 1080;
+    static final int HEIGHT = 1920;
+    static final int HEADER_HEIGHT = 600;
+    static final long FRAME_INTERVAL_MS = 16;
+
+    private TestLayouts() {
+    }
+
+    /**
+     * 固定高度的空Header + 指定的嵌套滚动子View(未指定时为空View).
+     */
+    static NestedScrollLayout create(Context context, int headerHeight, View scrollChild) {
+        final NestedScrollLayout layout = new NestedScrollLayout(context);
+        layout.addView(new View(context)
+                , new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, headerHeight));
+        layout.addView(scrollChild != null ? scrollChild : new View(context)
+                , new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                        , ViewGroup.LayoutParams.MATCH_PARENT));
+        return layout;
+    }
+
+    static NestedScrollLayout create(Context context) {
+        return create(context, HEADER_HEIGHT, null);
+    }
+
+    static void layoutFrame(View view) {
+        layoutFrame(view, WIDTH, HEIGHT);
+    }
+
+    static void layoutFrame(View view, int width, int height) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY)
+                , View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, width, height);
+    }
+
+    static void touch(View target, long downTime, long eventTime, int action, float x, float y) {
+        final MotionEvent event = MotionEvent.obtain(downTime, eventTime, action, x, y, 0);
+        target.dispatchTouchEvent(event);
+        event.recycle();
+    }
+}
@@ -0,0 +1,166 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.support.annotation.NonNull;
+import android.support.v4.view.PagerAdapter;
+import android.support.v4.view.ViewPager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.sheldonchen.nestedscrolllayout.NestedScrollLayout.ViewPagerFlingHelper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/**
+ * ViewPagerFlingHelper切换页面时列表与Header状态的同步.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class ViewPagerPageSyncTest {
+
+    private static final int WIDTH = TestLayouts.WIDTH;
+    private static final int HEADER_HEIGHT = TestLayouts.HEADER_HEIGHT;
+    private static final int ROW_HEIGHT = 200;
+    private static final int PAGE_COUNT = 3;
+
+    private NestedScrollLayout mLayout;
+    private ViewPager mViewPager;
+    private ViewPagerFlingHelper mHelper;
+    private final RecyclerView[] mPages = new RecyclerView[PAGE_COUNT];
+
+    @Before
+    public void setUp() throws Exception {
+        final Activity activity = Robolectric.setupActivity(Activity.class);
+        mViewPager = new ViewPager(activity);
+        mViewPager.setAdapter(new ListPagerAdapter());
+        mHelper = new ViewPagerFlingHelper(mViewPager);
+
+        mLayout = TestLayouts.create(activity, HEADER_HEIGHT, mViewPager);
+        mLayout.setOnChildScrollCallback(mHelper);
+        activity.setContentView(mLayout);
+        // 不执行窗口的布局流程, 只由测试逐帧布局, 以便检查切换页面是否请求了重新布局.
+        Robolectric.getForegroundThreadScheduler().pause();
+        TestLayouts.layoutFrame(mLayout);
+    }
+
+    @Test
+    public void alignChild_headerExpanded_scrollsIncomingListToStartWithoutLayout() throws Exception {
+        mHelper.setPageSyncPolicy(mLayout, ViewPagerFlingHelper.PAGE_SYNC_ALIGN_CHILD);
+        mPages[1].scrollBy(0, 3 * ROW_HEIGHT);
+        assertTrue(mPages[1].canScrollVertically(-1));
+
+        mViewPager.setCurrentItem(1, false);
+
+        assertEquals(0, mLayout.getCurrentScrollY());
+        assertFalse(mPages[1].canScrollVertically(-1));
+        assertFalse(mPages[1].isLayoutRequested());
+    }
+
+    @Test
+    public void alignChild_headerCollapsed_keepsIncomingListPosition() throws Exception {
+        mHelper.setPageSyncPolicy(mLayout, ViewPagerFlingHelper.PAGE_SYNC_ALIGN_CHILD);
+        mLayout.scrollTo(HEADER_HEIGHT);
+        mPages[1].scrollBy(0, 3 * ROW_HEIGHT);
+        final int listOffset = mPages[1].computeVerticalScrollOffset();
+
+        mViewPager.setCurrentItem(1, false);
+
+        assertEquals(HEADER_HEIGHT, mLayout.getCurrentScrollY());
+        assertEquals(listOffset, mPages[1].computeVerticalScrollOffset());
+    }
+
+    @Test
+    public void restoreHeader_restoresOffsetPerPage() throws Exception {
+        mHelper.setPageSyncPolicy(mLayout, ViewPagerFlingHelper.PAGE_SYNC_RESTORE_HEADER);
+        mLayout.scrollTo(HEADER_HEIGHT / 3);
+
+        mViewPager.setCurrentItem(1, false);
+        assertEquals(0, mLayout.getCurrentScrollY());
+        mLayout.scrollTo(HEADER_HEIGHT);
+
+        mViewPager.setCurrentItem(0, false);
+        assertEquals(HEADER_HEIGHT / 3, mLayout.getCurrentScrollY());
+
+        mViewPager.setCurrentItem(1, false);
+        assertEquals(HEADER_HEIGHT, mLayout.getCurrentScrollY());
+    }
+
+    @Test
+    public void restoreHeader_followsPageSwipe() throws Exception {
+        mHelper.setPageSyncPolicy(mLayout, ViewPagerFlingHelper.PAGE_SYNC_RESTORE_HEADER);
+        mLayout.scrollTo(HEADER_HEIGHT / 2);
+
+        // 页面1从未记录过Header位置(展开), 滑到一半时Header应处于两者中间.
+        assertTrue(mViewPager.beginFakeDrag());
+        mViewPager.fakeDragBy(-WIDTH / 2);
+        assertEquals(HEADER_HEIGHT / 4, mLayout.getCurrentScrollY());
+
+        mViewPager.fakeDragBy(-WIDTH / 2);
+        assertEquals(0, mLayout.getCurrentScrollY());
+
+        // 退回原页面时Header回到该页面的位置.
+        mViewPager.fakeDragBy(WIDTH);
+        assertEquals(HEADER_HEIGHT / 2, mLayout.getCurrentScrollY());
+    }
+
+    private class ListPagerAdapter extends PagerAdapter {
+
+        @Override
+        public int getCount() {
+            return PAGE_COUNT;
+        }
+
+        @Override
+        public boolean isViewFromObject(@NonNull View view, @NonNull Object object) {
+            return view == object;
+        }
+
+        @NonNull
+        @Override
+        public Object instantiateItem(@NonNull ViewGroup container, int position) {
+            final RecyclerView list = new RecyclerView(container.getContext());
+            list.setLayoutManager(new LinearLayoutManager(container.getContext()));
+            list.setAdapter(new RowAdapter());
+            container.addView(list);
+            mPages[position] = list;
+            return list;
+        }
+
+        @Override
+        public void destroyItem(@NonNull ViewGroup container, int position, @NonNull Object object) {
+            container.removeView((View) object);
+            mPages[position] = null;
+        }
+    }
+
+    private static class RowAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final View row = new View(parent.getContext());
+            row.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+            return new RecyclerView.ViewHolder(row) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return 50;
+        }
+    }
+}
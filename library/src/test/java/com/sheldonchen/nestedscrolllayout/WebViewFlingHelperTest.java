@@ -0,0 +1,135 @@
+package com.sheldonchen.nestedscrolllayout;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.webkit.WebView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * WebView fling衔接及滚动状态判断.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class WebViewFlingHelperTest {
+
+    private static final int HEADER_HEIGHT = TestLayouts.HEADER_HEIGHT;
+    private static final long FRAME_INTERVAL_MS = TestLayouts.FRAME_INTERVAL_MS;
+
+    private RecordingWebView mWebView;
+    private NestedScrollLayout.WebViewFlingHelper mHelper;
+
+    @Before
+    public void setUp() throws Exception {
+        mWebView = new RecordingWebView(RuntimeEnvironment.application);
+        mHelper = new NestedScrollLayout.WebViewFlingHelper(mWebView);
+    }
+
+    @Test
+    public void helpScrollChildFling_forwardsVelocityToWebView() throws Exception {
+        NestedScrollLayout.helpScrollChildFling(mWebView, 2400.F);
+
+        assertEquals(1, mWebView.flingCount);
+        assertEquals(0, mWebView.lastVelocityX);
+        assertEquals(2400, mWebView.lastVelocityY);
+    }
+
+    @Test
+    public void dispatchFlingVelocity_forwardsVelocityToWebView() throws Exception {
+        mHelper.dispatchFlingVelocity(null, mWebView, 1800.F);
+
+        assertEquals(1, mWebView.flingCount);
+        assertEquals(1800, mWebView.lastVelocityY);
+    }
+
+    @Test
+    public void canChildScrollUp_followsWebViewScrollState() throws Exception {
+        assertFalse(mHelper.canChildScrollUp(null, mWebView));
+
+        mWebView.canScrollUp = true;
+        assertTrue(mHelper.canChildScrollUp(null, mWebView));
+    }
+
+    @Test
+    public void canChildScrollUp_followsInPageContentScrollState() throws Exception {
+        mHelper.setContentScrolledUp(true);
+        assertTrue(mHelper.canChildScrollUp(null, mWebView));
+
+        mHelper.setContentScrolledUp(false);
+        assertFalse(mHelper.canChildScrollUp(null, mWebView));
+    }
+
+    @Test
+    public void webViewScrolled_flingDownGoesToWebViewAndKeepsHeaderCollapsed() throws Exception {
+        final Activity activity = Robolectric.setupActivity(Activity.class);
+        final NestedScrollLayout layout = TestLayouts.create(activity, HEADER_HEIGHT, mWebView);
+        layout.setOnChildScrollCallback(mHelper);
+        activity.setContentView(layout);
+        TestLayouts.layoutFrame(layout);
+        layout.scrollTo(HEADER_HEIGHT);
+        // 页面已向下滚动, 但内容高度尚未就绪(canScrollVertically(-1)为false).
+        mWebView.setScrollY(500);
+
+        final long downTime = SystemClock.uptimeMillis();
+        touch(layout, downTime, downTime, MotionEvent.ACTION_DOWN, 600);
+        for (int i = 1; i <= 4; i++) {
+            touch(layout, downTime, downTime + i * FRAME_INTERVAL_MS, MotionEvent.ACTION_MOVE, 600 + i * 100);
+        }
+        touch(layout, downTime, downTime + 5 * FRAME_INTERVAL_MS, MotionEvent.ACTION_UP, 1000);
+        for (int frame = 0; frame < 60; frame++) {
+            Robolectric.getForegroundThreadScheduler().advanceBy(FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            layout.computeScroll();
+        }
+
+        // 整个手势(包括抬起)都交给WebView, 由其自身完成fling, Header保持收起.
+        assertEquals(MotionEvent.ACTION_UP, mWebView.lastTouchAction);
+        assertTrue(layout.isIdle());
+        assertEquals(HEADER_HEIGHT, layout.getCurrentScrollY());
+    }
+
+    private static void touch(NestedScrollLayout layout, long downTime, long eventTime, int action, float y) {
+        TestLayouts.touch(layout, downTime, eventTime, action, TestLayouts.WIDTH / 2, y);
+    }
+
+    private static class RecordingWebView extends WebView {
+        int flingCount;
+        int lastVelocityX;
+        int lastVelocityY;
+        boolean canScrollUp;
+        int lastTouchAction = -1;
+
+        RecordingWebView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void flingScroll(int vx, int vy) {
+            flingCount++;
+            lastVelocityX = vx;
+            lastVelocityY = vy;
+        }
+
+        @Override
+        public boolean onTouchEvent(MotionEvent event) {
+            lastTouchAction = event.getActionMasked();
+            return true;
+        }
+
+        @Override
+        public boolean canScrollVertically(int direction) {
+            return direction < 0 ? canScrollUp : super.canScrollVertically(direction);
+        }
+    }
+}
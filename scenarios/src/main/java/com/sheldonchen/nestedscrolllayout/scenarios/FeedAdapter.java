@@ -0,0 +1,164 @@
+package com.sheldonchen.nestedscrolllayout.scenarios;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.annotation.NonNull;
+import android.support.v7.recyclerview.extensions.AsyncListDiffer;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
+import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import java.util.List;
+
+/**
+ * 多种Item类型的信息流Adapter, 数据更新通过AsyncListDiffer在后台线程diff.
+ */
+
+public class FeedAdapter extends RecyclerView.Adapter<FeedAdapter.FeedViewHolder> {
+
+    private static final DiffUtil.ItemCallback<FeedItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<FeedItem>() {
+        @Override
+        public boolean areItemsTheSame(FeedItem oldItem, FeedItem newItem) {
+            return oldItem.id == newItem.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(FeedItem oldItem, FeedItem newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    private final AsyncListDiffer<FeedItem> mDiffer = new AsyncListDiffer<>(this, DIFF_CALLBACK);
+    private int mBindCount;
+
+    public void submitList(List<FeedItem> items) {
+        mDiffer.submitList(items);
+    }
+
+    public List<FeedItem> getCurrentList() {
+        return mDiffer.getCurrentList();
+    }
+
+    /**
+     * onBindViewHolder的调用次数.
+     */
+    public int getBindCount() {
+        return mBindCount;
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return mDiffer.getCurrentList().get(position).type;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mDiffer.getCurrentList().size();
+    }
+
+    @NonNull
+    @Override
+    public FeedViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        final Context context = parent.getContext();
+        switch (viewType) {
+            case FeedItem.TYPE_MEDIA:
+                return createMediaHolder(context);
+            case FeedItem.TYPE_BANNER:
+                return createBannerHolder(context);
+            case FeedItem.TYPE_TEXT:
+            default:
+                return createTextHolder(context);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull FeedViewHolder holder, int position) {
+        mBindCount++;
+        final FeedItem item = mDiffer.getCurrentList().get(position);
+        holder.title.setText(item.title);
+        if (holder.subtitle != null) {
+            holder.subtitle.setText(item.subtitle);
+        }
+        if (holder.media != null) {
+            holder.media.setBackgroundColor(item.color);
+        }
+    }
+
+    private static FeedViewHolder createTextHolder(Context context) {
+        final int padding = Scenarios.dp(context, 16);
+        final LinearLayout itemView = new LinearLayout(context);
+        itemView.setOrientation(LinearLayout.VERTICAL);
+        itemView.setPadding(padding, padding / 2, padding, padding / 2);
+        itemView.setLayoutParams(new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        final TextView title = createText(context, 18, Color.parseColor("#121212"));
+        final TextView subtitle = createText(context, 14, Color.parseColor("#888888"));
+        subtitle.setMaxLines(2);
+        itemView.addView(title);
+        itemView.addView(subtitle);
+        return new FeedViewHolder(itemView, title, subtitle, null);
+    }
+
+    private static FeedViewHolder createMediaHolder(Context context) {
+        final int padding = Scenarios.dp(context, 16);
+        final int mediaSize = Scenarios.dp(context, 72);
+        final LinearLayout itemView = new LinearLayout(context);
+        itemView.setOrientation(LinearLayout.HORIZONTAL);
+        itemView.setGravity(Gravity.CENTER_VERTICAL);
+        itemView.setPadding(padding, padding / 2, padding, padding / 2);
+        itemView.setLayoutParams(new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        final View media = new View(context);
+        itemView.addView(media, new LinearLayout.LayoutParams(mediaSize, mediaSize));
+
+        final LinearLayout texts = new LinearLayout(context);
+        texts.setOrientation(LinearLayout.VERTICAL);
+        texts.setPadding(padding, 0, 0, 0);
+        final TextView title = createText(context, 18, Color.parseColor("#121212"));
+        final TextView subtitle = createText(context, 14, Color.parseColor("#888888"));
+        subtitle.setMaxLines(3);
+        texts.addView(title);
+        texts.addView(subtitle);
+        itemView.addView(texts, new LinearLayout.LayoutParams(0, ViewGroup.LayoutParams.WRAP_CONTENT, 1));
+        return new FeedViewHolder(itemView, title, subtitle, media);
+    }
+
+    private static FeedViewHolder createBannerHolder(Context context) {
+        final FrameLayout itemView = new FrameLayout(context);
+        itemView.setLayoutParams(new RecyclerView.LayoutParams(
+                ViewGroup.LayoutParams.MATCH_PARENT, Scenarios.dp(context, 160)));
+
+        final TextView title = createText(context, 22, Color.WHITE);
+        itemView.addView(title, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT
+                , ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.CENTER));
+        return new FeedViewHolder(itemView, title, null, itemView);
+    }
+
+    private static TextView createText(Context context, int textSizeDp, int textColor) {
+        final TextView textView = new TextView(context);
+        textView.setTextSize(TypedValue.COMPLEX_UNIT_DIP, textSizeDp);
+        textView.setTextColor(textColor);
+        return textView;
+    }
+
+    public static class FeedViewHolder extends RecyclerView.ViewHolder {
+        final TextView title;
+        final TextView subtitle;
+        final View media;
+
+        FeedViewHolder(View itemView, TextView title, TextView subtitle, View media) {
+            super(itemView);
+            this.title = title;
+            this.subtitle = subtitle;
+            this.media = media;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.sheldonchen.nestedscrolllayout.scenarios;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 信息流中的一条数据, 相同seed生成的数据完全一致.
+ */
+
+public final class FeedItem {
+
+    public static final int TYPE_TEXT = 0;
+    public static final int TYPE_MEDIA = 1;
+    public static final int TYPE_BANNER = 2;
+
+    private static final String[] WORDS = {
+            "nested", "scroll", "header", "fling", "layout", "velocity", "pinned", "section",
+            "recycler", "pager", "offset", "frame", "touch", "child", "stretch", "refresh"
+    };
+
+    public final long id;
+    public final int type;
+    public final String title;
+    public final String subtitle;
+    public final int color;
+
+    public FeedItem(long id, int type, String title, String subtitle, int color) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.subtitle = subtitle;
+        this.color = color;
+    }
+
+    /**
+     * 生成count条数据: 大部分是文本, 约1/4带图, 每隔50条一个banner.
+     */
+    public static List<FeedItem> generate(int count, long seed) {
+        final Random random = new Random(seed);
+        final List<FeedItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(create(i, random));
+        }
+        return items;
+    }
+
+    /**
+     * 在原数据上删除、插入及修改少量数据, 用于触发异步diff.
+     */
+    public static List<FeedItem> update(List<FeedItem> items, int changes, long seed) {
+        final Random random = new Random(seed);
+        final List<FeedItem> updated = new ArrayList<>(items);
+        long nextId = items.size();
+        for (int i = 0; i < changes && !updated.isEmpty(); i++) {
+            final int position = random.nextInt(updated.size());
+            switch (i % 3) {
+                case 0:
+                    updated.remove(position);
+                    break;
+                case 1:
+                    updated.add(position, create(nextId++, random));
+                    break;
+                default:
+                    final FeedItem old = updated.get(position);
+                    updated.set(position, new FeedItem(old.id, old.type
+                            , old.title + " *", old.subtitle, old.color));
+                    break;
+            }
+        }
+        return updated;
+    }
+
+    private static FeedItem create(long id, Random random) {
+        final int type;
+        if (id % 50 == 49) {
+            type = TYPE_BANNER;
+        } else if (random.nextInt(4) == 0) {
+            type = TYPE_MEDIA;
+        } else {
+            type = TYPE_TEXT;
+        }
+        return new FeedItem(id, type, sentence(random, 3 + random.nextInt(6))
+                , sentence(random, 8 + random.nextInt(16)), 0xFF000000 | random.nextInt(0xFFFFFF));
+    }
+
+    private static String sentence(Random random, int words) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FeedItem)) {
+            return false;
+        }
+        final FeedItem other = (FeedItem) o;
+        return id == other.id && type == other.type && color == other.color
+                && title.equals(other.title) && subtitle.equals(other.subtitle);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (id ^ (id >>> 32));
+    }
+}
@@ -0,0 +1,33 @@
+package com.sheldonchen.nestedscrolllayout.scenarios;
+
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.app.Fragment;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * ViewPager场景中的一页, 每页是一个独立的信息流.
+ */
+
+public class FeedPageFragment extends Fragment {
+
+    private static final String ARG_PAGE = "page";
+
+    public static FeedPageFragment newInstance(int page) {
+        final Bundle args = new Bundle();
+        args.putInt(ARG_PAGE, page);
+        final FeedPageFragment fragment = new FeedPageFragment();
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        final int page = getArguments() == null ? 0 : getArguments().getInt(ARG_PAGE);
+        return Scenarios.createFeedList(inflater.getContext(), Scenarios.PAGE_ROW_COUNT, page);
+    }
+}
@@ -0,0 +1,152 @@
+package com.sheldonchen.nestedscrolllayout.scenarios;
+
+import android.os.SystemClock;
+import android.support.v4.view.ViewCompat;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按帧生成的触摸手势脚本, 沿竖直方向拖动/fling, 或水平滑动(切换ViewPager页面).
+ * note：
+ *      distance > 0表示手指向下/向右(展开Header), < 0表示手指向上/向左(收起Header).
+ *      #playNow(View, FrameCallback)同步回放, 事件时间按帧间隔递增, 供JVM benchmark使用;
+ *      #play(View, Runnable)在每个动画帧分发一个事件, 供demo使用.
+ */
+
+public final class GestureScript {
+
+    public static final long FRAME_INTERVAL_MS = 16;
+    /**
+     * fling手势的持续时间, 松手前的速度约为distance / FLING_DURATION_MS.
+     */
+    private static final long FLING_DURATION_MS = 48;
+
+    private static final int ACTION_NONE = -1;
+
+    public interface FrameCallback {
+        /**
+         * 每帧事件分发后回调, 需在此推进时钟及驱动computeScroll.
+         */
+        void doFrame(long frameTimeMillis);
+    }
+
+    private final List<Frame> mFrames = new ArrayList<>();
+
+    /**
+     * 匀速拖动distance后松手.
+     */
+    public GestureScript drag(int distance, long durationMillis) {
+        return addGesture(false, distance, durationMillis);
+    }
+
+    /**
+     * 水平匀速滑动distance后松手.
+     */
+    public GestureScript swipe(int distance, long durationMillis) {
+        return addGesture(true, distance, durationMillis);
+    }
+
+    private GestureScript addGesture(boolean horizontal, int distance, long durationMillis) {
+        final int moves = Math.max(1, (int) (durationMillis / FRAME_INTERVAL_MS));
+        mFrames.add(new Frame(MotionEvent.ACTION_DOWN, horizontal, distance, 0));
+        for (int i = 1; i <= moves; i++) {
+            mFrames.add(new Frame(MotionEvent.ACTION_MOVE, horizontal, distance
+                    , (float) distance * i / moves));
+        }
+        mFrames.add(new Frame(MotionEvent.ACTION_UP, horizontal, distance, distance));
+        return this;
+    }
+
+    public GestureScript fling(int distance) {
+        return drag(distance, FLING_DURATION_MS);
+    }
+
+    /**
+     * 不分发事件, 只推进帧(等待fling结束等).
+     */
+    public GestureScript idle(long durationMillis) {
+        final int frames = Math.max(1, (int) (durationMillis / FRAME_INTERVAL_MS));
+        for (int i = 0; i < frames; i++) {
+            mFrames.add(new Frame(ACTION_NONE, false, 0, 0));
+        }
+        return this;
+    }
+
+    public int getFrameCount() {
+        return mFrames.size();
+    }
+
+    /**
+     * 同步回放全部帧.
+     */
+    public void playNow(View target, FrameCallback callback) {
+        final long startTime = SystemClock.uptimeMillis();
+        long downTime = startTime;
+        for (int i = 0; i < mFrames.size(); i++) {
+            final long frameTime = startTime + i * FRAME_INTERVAL_MS;
+            final Frame frame = mFrames.get(i);
+            if (frame.action == MotionEvent.ACTION_DOWN) {
+                downTime = frameTime;
+            }
+            dispatchFrame(target, frame, downTime, frameTime);
+            callback.doFrame(frameTime);
+        }
+    }
+
+    /**
+     * 每个动画帧回放一帧, 结束后回调onFinish(可为null).
+     */
+    public void play(final View target, final Runnable onFinish) {
+        ViewCompat.postOnAnimation(target, new Runnable() {
+            private int mIndex;
+            private long mDownTime;
+
+            @Override
+            public void run() {
+                if (mIndex >= mFrames.size()) {
+                    if (onFinish != null) {
+                        onFinish.run();
+                    }
+                    return;
+                }
+                final long frameTime = SystemClock.uptimeMillis();
+                final Frame frame = mFrames.get(mIndex++);
+                if (frame.action == MotionEvent.ACTION_DOWN) {
+                    mDownTime = frameTime;
+                }
+                dispatchFrame(target, frame, mDownTime, frameTime);
+                ViewCompat.postOnAnimation(target, this);
+            }
+        });
+    }
+
+    private static void dispatchFrame(View target, Frame frame, long downTime, long eventTime) {
+        if (frame.action == ACTION_NONE) {
+            return;
+        }
+        // 向上/向左拖动从靠下/靠右的位置开始, 反之从靠上/靠左的位置开始.
+        final float start = frame.distance < 0 ? .8F : .2F;
+        final float x = frame.horizontal ? target.getWidth() * start + frame.offset : target.getWidth() * .5F;
+        final float y = frame.horizontal ? target.getHeight() * .5F : target.getHeight() * start + frame.offset;
+        final MotionEvent event = MotionEvent.obtain(downTime, eventTime, frame.action, x, y, 0);
+        target.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private static final class Frame {
+        final int action;
+        final boolean horizontal;
+        final int distance;
+        final float offset;
+
+        Frame(int action, boolean horizontal, int distance, float offset) {
+            this.action = action;
+            this.horizontal = horizontal;
+            this.distance = distance;
+            this.offset = offset;
+        }
+    }
+}
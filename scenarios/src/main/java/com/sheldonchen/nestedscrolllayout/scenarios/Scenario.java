@@ -0,0 +1,19 @@
+package com.sheldonchen.nestedscrolllayout.scenarios;
+
+import android.content.Context;
+import android.support.v4.app.FragmentActivity;
+
+import com.sheldonchen.nestedscrolllayout.NestedScrollLayout;
+
+/**
+ * 压力测试场景: 构建完整的NestedScrollLayout及与之配套的手势脚本.
+ */
+
+public interface Scenario {
+
+    String getName();
+
+    NestedScrollLayout create(FragmentActivity activity);
+
+    GestureScript createGestureScript(Context context);
+}
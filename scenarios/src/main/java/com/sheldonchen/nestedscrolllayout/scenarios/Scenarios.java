@@ -0,0 +1,390 @@
+package com.sheldonchen.nestedscrolllayout.scenarios;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.support.v4.app.Fragment;
+import android.support.v4.app.FragmentActivity;
+import android.support.v4.app.FragmentManager;
+import android.support.v4.app.FragmentPagerAdapter;
+import android.support.v4.view.ViewPager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.util.TypedValue;
+import android.view.View;
+import android.view.ViewGroup;
+import android.webkit.WebView;
+import android.widget.BaseAdapter;
+import android.widget.LinearLayout;
+import android.widget.ListView;
+import android.widget.TextView;
+
+import com.sheldonchen.nestedscrolllayout.NestedScrollLayout;
+
+import java.util.List;
+
+/**
+ * 所有压力测试场景.
+ * note：
+ *      场景均以代码构建, 数据由固定seed生成, demo与benchmark运行的是同一份负载.
+ *      eg:
+ *          NestedScrollLayout layout = Scenarios.get(Scenarios.FEED).create(activity);
+ */
+
+public final class Scenarios {
+
+    public static final String FEED = "feed";
+    public static final String PAGER = "pager";
+    public static final String LIST = "list";
+    public static final String WEB = "web";
+    public static final String DEEP_HEADER = "deep_header";
+
+    public static final int FEED_ROW_COUNT = 100000;
+    public static final int PAGE_COUNT = 10;
+    public static final int PAGE_ROW_COUNT = 1000;
+    public static final int LIST_ROW_COUNT = 10000;
+    public static final int WEB_PARAGRAPH_COUNT = 1500;
+    public static final int DEEP_HEADER_DEPTH = 12;
+
+    /**
+     * FEED场景首帧后提交一次数据更新, 在后台线程diff.
+     */
+    private static final long FEED_UPDATE_DELAY_MS = 1000;
+    private static final int FEED_UPDATE_CHANGES = 300;
+
+    private static final int HEADER_HEIGHT_DP = 300;
+    /**
+     * 大于所有场景的Header高度, 保证一次拖动能完全收起/展开Header.
+     */
+    private static final int COLLAPSE_DISTANCE_DP = 800;
+    private static final int FLING_DISTANCE_DP = 600;
+
+    private static final Scenario[] ALL = {
+            new FeedScenario(),
+            new PagerScenario(),
+            new ListScenario(),
+            new WebScenario(),
+            new DeepHeaderScenario()
+    };
+
+    private Scenarios() {
+    }
+
+    public static Scenario[] all() {
+        return ALL.clone();
+    }
+
+    public static Scenario get(String name) {
+        for (Scenario scenario : ALL) {
+            if (scenario.getName().equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+
+    static int dp(Context context, float dp) {
+        return Math.round(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dp
+                , context.getResources().getDisplayMetrics()));
+    }
+
+    static RecyclerView createFeedList(Context context, int rowCount, long seed) {
+        final RecyclerView recyclerView = new RecyclerView(context);
+        recyclerView.setLayoutManager(new LinearLayoutManager(context));
+        recyclerView.setHasFixedSize(true);
+        recyclerView.setNestedScrollingEnabled(false);
+        recyclerView.setBackgroundColor(Color.WHITE);
+        final FeedAdapter adapter = new FeedAdapter();
+        adapter.submitList(FeedItem.generate(rowCount, seed));
+        recyclerView.setAdapter(adapter);
+        return recyclerView;
+    }
+
+    private static NestedScrollLayout createLayout(Context context, View header, View scrollChild) {
+        final NestedScrollLayout layout = new NestedScrollLayout(context);
+        layout.addView(header, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                , ViewGroup.LayoutParams.WRAP_CONTENT));
+        layout.addView(scrollChild, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                , ViewGroup.LayoutParams.MATCH_PARENT));
+        layout.setHeaderStretchEnabled(true);
+        return layout;
+    }
+
+    private static View createHeader(Context context) {
+        final LinearLayout header = new LinearLayout(context);
+        header.setOrientation(LinearLayout.VERTICAL);
+
+        final View picture = new View(context);
+        picture.setBackgroundColor(Color.parseColor("#393"));
+        header.addView(picture, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                , dp(context, HEADER_HEIGHT_DP - 40)));
+        header.addView(createLabel(context, "this is a picture")
+                , new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, dp(context, 40)));
+        return header;
+    }
+
+    /**
+     * 多层嵌套的Header, 每层一个标题.
+     */
+    private static View createDeepHeader(Context context, int depth) {
+        final int padding = dp(context, 4);
+        final LinearLayout root = new LinearLayout(context);
+        root.setOrientation(LinearLayout.VERTICAL);
+
+        LinearLayout level = root;
+        for (int i = 0; i < depth; i++) {
+            level.addView(createLabel(context, "level " + i));
+            final LinearLayout next = new LinearLayout(context);
+            next.setOrientation(LinearLayout.VERTICAL);
+            next.setPadding(padding, padding, padding, padding);
+            next.setBackgroundColor(Color.HSVToColor(new float[]{i * 360.F / depth, .2F, 1.F}));
+            level.addView(next, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                    , ViewGroup.LayoutParams.WRAP_CONTENT));
+            level = next;
+        }
+        final View picture = new View(context);
+        picture.setBackgroundColor(Color.parseColor("#393"));
+        level.addView(picture, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT
+                , dp(context, 160)));
+        return root;
+    }
+
+    private static TextView createLabel(Context context, String text) {
+        final TextView label = new TextView(context);
+        label.setBackgroundColor(Color.parseColor("#ccc"));
+        label.setTextColor(Color.parseColor("#333"));
+        label.setTextSize(TypedValue.COMPLEX_UNIT_DIP, 14);
+        label.setText(text);
+        return label;
+    }
+
+    /**
+     * 收起Header并滚动列表, 向后fling两次, 向前fling两次, 最后展开Header.
+     */
+    private static GestureScript createDefaultScript(Context context) {
+        final int collapse = dp(context, COLLAPSE_DISTANCE_DP);
+        final int fling = dp(context, FLING_DISTANCE_DP);
+        return new GestureScript()
+                .drag(-collapse, 480).idle(200)
+                .fling(-fling).idle(1200)
+                .fling(-fling).idle(1200)
+                .fling(fling).idle(1200)
+                .fling(fling).idle(1200)
+                .drag(collapse, 480).idle(500);
+    }
+
+    private static final class FeedScenario implements Scenario {
+
+        @Override
+        public String getName() {
+            return FEED;
+        }
+
+        @Override
+        public NestedScrollLayout create(FragmentActivity activity) {
+            final RecyclerView recyclerView = createFeedList(activity, FEED_ROW_COUNT, 0);
+            final FeedAdapter adapter = (FeedAdapter) recyclerView.getAdapter();
+            recyclerView.postDelayed(new Runnable() {
+                @Override
+                public void run() {
+                    final List<FeedItem> items = adapter.getCurrentList();
+                    adapter.submitList(FeedItem.update(items, FEED_UPDATE_CHANGES, items.size()));
+                }
+            }, FEED_UPDATE_DELAY_MS);
+            return createLayout(activity, createHeader(activity), recyclerView);
+        }
+
+        @Override
+        public GestureScript createGestureScript(Context context) {
+            return createDefaultScript(context);
+        }
+    }
+
+    private static final class PagerScenario implements Scenario {
+
+        @Override
+        public String getName() {
+            return PAGER;
+        }
+
+        @Override
+        public NestedScrollLayout create(FragmentActivity activity) {
+            final ViewPager viewPager = new ViewPager(activity);
+            viewPager.setId(R.id.scenario_pager);
+            viewPager.setAdapter(new FeedPagerAdapter(activity.getSupportFragmentManager()));
+
+            final NestedScrollLayout layout = createLayout(activity, createHeader(activity), viewPager);
+            final NestedScrollLayout.ViewPagerFlingHelper helper
+                    = new NestedScrollLayout.ViewPagerFlingHelper(viewPager);
+            helper.setPageSyncPolicy(layout, NestedScrollLayout.ViewPagerFlingHelper.PAGE_SYNC_ALIGN_CHILD);
+            layout.setOnChildScrollCallback(helper);
+            return layout;
+        }
+
+        @Override
+        public GestureScript createGestureScript(Context context) {
+            final int collapse = dp(context, COLLAPSE_DISTANCE_DP);
+            final int fling = dp(context, FLING_DISTANCE_DP);
+            final int swipe = dp(context, 240);
+            return new GestureScript()
+                    .drag(-collapse, 480).idle(200)
+                    .fling(-fling).idle(1200)
+                    .swipe(-swipe, 160).idle(600)
+                    .fling(-fling).idle(1200)
+                    .swipe(-swipe, 160).idle(600)
+                    .fling(fling).idle(1200)
+                    .swipe(swipe, 160).idle(600)
+                    .drag(collapse, 480).idle(500);
+        }
+    }
+
+    private static final class FeedPagerAdapter extends FragmentPagerAdapter {
+
+        FeedPagerAdapter(FragmentManager fm) {
+            super(fm);
+        }
+
+        @Override
+        public Fragment getItem(int position) {
+            return FeedPageFragment.newInstance(position);
+        }
+
+        @Override
+        public int getCount() {
+            return PAGE_COUNT;
+        }
+    }
+
+    private static final class ListScenario implements Scenario {
+
+        @Override
+        public String getName() {
+            return LIST;
+        }
+
+        @Override
+        public NestedScrollLayout create(FragmentActivity activity) {
+            final ListView listView = new ListView(activity);
+            listView.setBackgroundColor(Color.WHITE);
+            listView.setAdapter(new FeedListAdapter(FeedItem.generate(LIST_ROW_COUNT, 0)));
+            return createLayout(activity, createHeader(activity), listView);
+        }
+
+        @Override
+        public GestureScript createGestureScript(Context context) {
+            return createDefaultScript(context);
+        }
+    }
+
+    private static final class FeedListAdapter extends BaseAdapter {
+        private final List<FeedItem> mItems;
+
+        FeedListAdapter(List<FeedItem> items) {
+            mItems = items;
+        }
+
+        @Override
+        public int getCount() {
+            return mItems.size();
+        }
+
+        @Override
+        public Object getItem(int position) {
+            return mItems.get(position);
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return mItems.get(position).id;
+        }
+
+        @Override
+        public boolean hasStableIds() {
+            return true;
+        }
+
+        @Override
+        public View getView(int position, View convertView, ViewGroup parent) {
+            ViewHolder holder;
+            if (convertView == null) {
+                final Context context = parent.getContext();
+                final int padding = dp(context, 16);
+                final LinearLayout itemView = new LinearLayout(context);
+                itemView.setOrientation(LinearLayout.VERTICAL);
+                itemView.setPadding(padding, padding / 2, padding, padding / 2);
+
+                holder = new ViewHolder();
+                holder.title = new TextView(context);
+                holder.title.setTextSize(TypedValue.COMPLEX_UNIT_DIP, 18);
+                holder.subtitle = new TextView(context);
+                holder.subtitle.setMaxLines(2);
+                itemView.addView(holder.title);
+                itemView.addView(holder.subtitle);
+                itemView.setTag(holder);
+                convertView = itemView;
+            } else {
+                holder = (ViewHolder) convertView.getTag();
+            }
+
+            final FeedItem item = mItems.get(position);
+            holder.title.setText(item.title);
+            holder.subtitle.setText(item.subtitle);
+            return convertView;
+        }
+
+        private static class ViewHolder {
+            TextView title;
+            TextView subtitle;
+        }
+    }
+
+    private static final class WebScenario implements Scenario {
+
+        @Override
+        public String getName() {
+            return WEB;
+        }
+
+        @Override
+        public NestedScrollLayout create(FragmentActivity activity) {
+            final WebView webView = new WebView(activity);
+            webView.loadDataWithBaseURL(null, createHtml(WEB_PARAGRAPH_COUNT), "text/html", "utf-8", null);
+
+            final NestedScrollLayout layout = createLayout(activity, createHeader(activity), webView);
+            layout.setOnChildScrollCallback(new NestedScrollLayout.WebViewFlingHelper(webView));
+            return layout;
+        }
+
+        @Override
+        public GestureScript createGestureScript(Context context) {
+            return createDefaultScript(context);
+        }
+
+        private static String createHtml(int paragraphs) {
+            final StringBuilder html = new StringBuilder("<html><body>");
+            for (FeedItem item : FeedItem.generate(paragraphs, 0)) {
+                html.append("<h3>").append(item.title).append("</h3><p>")
+                        .append(item.subtitle).append("</p>");
+            }
+            return html.append("</body></html>").toString();
+        }
+    }
+
+    private static final class DeepHeaderScenario implements Scenario {
+
+        @Override
+        public String getName() {
+            return DEEP_HEADER;
+        }
+
+        @Override
+        public NestedScrollLayout create(FragmentActivity activity) {
+            return createLayout(activity, createDeepHeader(activity, DEEP_HEADER_DEPTH)
+                    , createFeedList(activity, PAGE_ROW_COUNT, 0));
+        }
+
+        @Override
+        public GestureScript createGestureScript(Context context) {
+            return createDefaultScript(context);
+        }
+    }
+}